@@ -0,0 +1,252 @@
+package com.ghosttech.blackout;
+
+import android.util.Log;
+
+import com.ghosttech.blackout.api.ApiBridge;
+import com.ghosttech.blackout.api.ResponseCache;
+import com.ghosttech.blackout.arbitration.ArbitrationEngine;
+import com.ghosttech.blackout.engine.BlackoutEngine;
+import com.ghosttech.blackout.engine.EngineConfig;
+import com.ghosttech.blackout.engine.SignatureAlgorithm;
+import com.ghosttech.blackout.security.KeyManager;
+import com.ghosttech.blackout.security.SessionSigner;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EngineBootstrap brings the engine up off the UI thread, in stages:
+ *
+ *  1. WARM    Load JCA providers and classes (Signature, KeyFactory,
+ *             MessageDigest) for the configured algorithm.
+ *  2. ENGINE  Construct the engine, the ArbitrationEngine that owns its
+ *             signing sessions, and the SessionSigners that submit to
+ *             it. Completes ready(), signer() and pageSigner().
+ *  3. BRIDGE  Open the response cache, construct the ApiBridge and
+ *             warm its HTTP client. Completes bridge().
+ *
+ * The activity renders its first frame while these run. Each stage
+ * logs its duration.
+ *
+ * Authoritative reference: Blackout Engine Logic Sheet (Daniel)
+ */
+public class EngineBootstrap {
+
+    private static final String TAG = "Blackout-Bootstrap";
+    private static final byte[] WARM_UP_INPUT = new byte[64];
+    private static final int SIGNER_CONCURRENCY = 2;
+    private static final int MAX_QUEUED_SIGNATURES = 32;
+    private static final long API_SIGN_TIMEOUT_MS = 5_000;
+    private static final long PAGE_SIGN_TIMEOUT_MS = 1_000;
+
+    private final EngineConfig config;
+    private final KeyManager keyManager;
+    private final String baseUrl;
+    private final ResponseCache.Builder responseCache;
+    private final ExecutorService executor;
+    private final CompletableFuture<BlackoutEngine> ready;
+    private final CompletableFuture<SessionSigner> signer;
+    private final CompletableFuture<SessionSigner> pageSigner;
+    private final CompletableFuture<ApiBridge> bridge;
+    // Touched only on the bootstrap thread, by run() and teardown().
+    private ArbitrationEngine arbiter;
+    private ApiBridge openedBridge;
+    private ResponseCache openedCache;
+
+    /**
+     * @param config        Engine configuration; selects the algorithm warmed up.
+     * @param keyManager    Source of the per-request ephemeral keypairs.
+     * @param baseUrl       GhostTech API base URL for the bridge.
+     * @param responseCache Response cache to open for the bridge; null for none.
+     */
+    public EngineBootstrap(EngineConfig config, KeyManager keyManager, String baseUrl,
+                           ResponseCache.Builder responseCache) {
+        this.config = config;
+        this.keyManager = keyManager;
+        this.baseUrl = baseUrl;
+        this.responseCache = responseCache;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Blackout-Bootstrap");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ready = new CompletableFuture<>();
+        this.signer = new CompletableFuture<>();
+        this.pageSigner = new CompletableFuture<>();
+        this.bridge = new CompletableFuture<>();
+    }
+
+    /**
+     * Starts the staged bootstrap and returns immediately.
+     */
+    public void start() {
+        executor.execute(this::run);
+    }
+
+    /**
+     * Completes with the engine, or exceptionally if a stage failed.
+     */
+    public CompletableFuture<BlackoutEngine> ready() {
+        return ready;
+    }
+
+    /**
+     * Completes with the signer for API requests (NORMAL priority) once
+     * the engine is up.
+     */
+    public CompletableFuture<SessionSigner> signer() {
+        return signer;
+    }
+
+    /**
+     * Completes with the signer for the page's SIGN requests, which
+     * are served ahead of API signing (INTERACTIVE priority).
+     */
+    public CompletableFuture<SessionSigner> pageSigner() {
+        return pageSigner;
+    }
+
+    /**
+     * Completes with the warmed ApiBridge once the engine is ready.
+     */
+    public CompletableFuture<ApiBridge> bridge() {
+        return bridge;
+    }
+
+    /**
+     * Runs work on the bootstrap thread, after the stages already queued.
+     */
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * Cancels the stages not yet completed and releases what the
+     * bootstrap started: the ApiBridge, the arbiter and the response
+     * cache. Returns at once; the release runs on the bootstrap thread
+     * after any stage in progress, so nothing a stage opens is missed.
+     */
+    public void shutdown() {
+        ready.cancel(false);
+        signer.cancel(false);
+        pageSigner.cancel(false);
+        bridge.cancel(false);
+        try {
+            executor.execute(this::teardown);
+        } catch (RejectedExecutionException e) {
+            // Already shut down.
+            return;
+        }
+        executor.shutdown();
+    }
+
+    private void teardown() {
+        // Bridge first, so nothing new is signed; then the arbiter that
+        // signs; then the cache the bridge wrote to.
+        if (openedBridge != null) {
+            openedBridge.close();
+        }
+        if (arbiter != null) {
+            arbiter.shutdown();
+        }
+        if (openedCache != null) {
+            try {
+                openedCache.close();
+            } catch (IOException e) {
+                Log.w(TAG, "Response cache close failed", e);
+            }
+        }
+    }
+
+    private void run() {
+        BlackoutEngine engine;
+        ArbitrationEngine signingArbiter;
+        try {
+            long start = System.nanoTime();
+            warmUpCrypto(config.getSignatureAlgorithm());
+            start = logStage("WARM", start);
+
+            // The engine's own session is never unlocked, and nothing it
+            // verifies is signed under this key: requests sign under keys
+            // of their own, on sessions owned by the arbiter, and each
+            // signature carries the public key that verifies it.
+            KeyPair pair = keyManager.acquire();
+            engine = new BlackoutEngine(pair.getPublic(), config);
+            signingArbiter = new ArbitrationEngine(engine,
+                    Math.min(SIGNER_CONCURRENCY, engine.availableSessions()),
+                    MAX_QUEUED_SIGNATURES);
+            arbiter = signingArbiter;
+            logStage("ENGINE", start);
+        } catch (Exception e) {
+            Log.e(TAG, "Engine bootstrap failed", e);
+            ready.completeExceptionally(e);
+            signer.completeExceptionally(e);
+            pageSigner.completeExceptionally(e);
+            bridge.completeExceptionally(e);
+            return;
+        }
+        SessionSigner apiSigner = new SessionSigner(signingArbiter, keyManager,
+                ArbitrationEngine.Priority.NORMAL, API_SIGN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (!ready.complete(engine)
+                || !signer.complete(apiSigner)
+                || !pageSigner.complete(new SessionSigner(signingArbiter, keyManager,
+                        ArbitrationEngine.Priority.INTERACTIVE,
+                        PAGE_SIGN_TIMEOUT_MS, TimeUnit.MILLISECONDS))) {
+            // Shut down while the engine was coming up; teardown() follows.
+            return;
+        }
+
+        try {
+            long start = System.nanoTime();
+            openedBridge = new ApiBridge(baseUrl, apiSigner, openResponseCache());
+            openedBridge.warmUp();
+            logStage("BRIDGE", start);
+            bridge.complete(openedBridge);
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Bridge bootstrap failed", e);
+            bridge.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Opens the response cache, or returns null to run uncached if there
+     * is none or its file cannot be mapped.
+     */
+    private ResponseCache openResponseCache() {
+        if (responseCache == null) {
+            return null;
+        }
+        try {
+            openedCache = responseCache.build();
+            return openedCache;
+        } catch (IOException e) {
+            Log.w(TAG, "Response cache unavailable; continuing uncached", e);
+            return null;
+        }
+    }
+
+    /**
+     * Resolves providers and runs one throwaway operation per primitive,
+     * so the engine's first real signature skips class loading and
+     * provider lookup.
+     */
+    private static void warmUpCrypto(SignatureAlgorithm algorithm) throws GeneralSecurityException {
+        algorithm.newSignature();
+        KeyFactory.getInstance(algorithm.getKeyAlgorithm());
+        MessageDigest.getInstance("SHA-256").digest(WARM_UP_INPUT);
+    }
+
+    private static long logStage(String stage, long startNanos) {
+        long now = System.nanoTime();
+        Log.i(TAG, stage + " took " + TimeUnit.NANOSECONDS.toMillis(now - startNanos) + " ms");
+        return now;
+    }
+}
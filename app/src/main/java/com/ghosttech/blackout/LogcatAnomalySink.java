@@ -0,0 +1,21 @@
+package com.ghosttech.blackout;
+
+import android.util.Log;
+
+import com.ghosttech.blackout.arbitration.AnomalyLog;
+import com.ghosttech.blackout.engine.AnomalyCode;
+
+/**
+ * LogcatAnomalySink formats drained AnomalyLog records and writes them
+ * to logcat, off the engine's transition path.
+ */
+public class LogcatAnomalySink implements AnomalyLog.RecordSink {
+
+    private static final String TAG = "Blackout-Anomaly";
+
+    @Override
+    public void accept(AnomalyCode code, int from, int to, long timestampNanos, long sessionId) {
+        Log.e(TAG, "ANOMALY DETECTED: " + code.describe(from, to)
+                + " (session " + sessionId + ", t=" + timestampNanos + "ns)");
+    }
+}
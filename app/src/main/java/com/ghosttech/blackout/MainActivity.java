@@ -1,62 +1,222 @@
 package com.ghosttech.blackout;
 
 import androidx.appcompat.app.AppCompatActivity;
+import android.graphics.Bitmap;
+import android.net.Uri;
 import android.os.Bundle;
+import android.os.Process;
+import android.os.SystemClock;
 import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+import android.webkit.WebResourceRequest;
+import android.webkit.WebResourceResponse;
+import android.webkit.WebView;
+import android.webkit.WebViewClient;
+
+import androidx.webkit.WebViewAssetLoader;
 
 import com.ghosttech.blackout.engine.BlackoutEngine;
+import com.ghosttech.blackout.engine.EngineConfig;
 import com.ghosttech.blackout.api.ApiBridge;
-
-import java.security.KeyPair;
-import java.security.KeyPairGenerator;
-import java.security.PublicKey;
-import java.security.PrivateKey;
+import com.ghosttech.blackout.api.ResponseCache;
+import com.ghosttech.blackout.arbitration.AnomalyLog;
+import com.ghosttech.blackout.assets.AssetPathHandler;
+import com.ghosttech.blackout.bridge.BridgeDispatcher;
+import com.ghosttech.blackout.bridge.WebMessageBridge;
+import com.ghosttech.blackout.router.BlackoutRouter;
+import com.ghosttech.blackout.security.KeyManager;
+import com.ghosttech.blackouthybrid.R;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 public class MainActivity extends AppCompatActivity {
 
     private static final String TAG = "Blackout-Main";
-    private BlackoutEngine engine;
+    private static final String API_BASE_URL =
+            "https://laughing-telegram-r4r59gw5pg7q2p5j5-3000.app.github.dev";
+    private static final int KEY_POOL_SIZE = 2;
+    private static final int ANOMALY_LOG_CAPACITY = 256;
+    private static final long ANOMALY_DRAIN_MILLIS = 250;
+    private static final int BRIDGE_MAX_IN_FLIGHT = 32;
+    private static final long ASSET_CACHE_BYTES = 4L * 1024 * 1024;
+    private static final int RESPONSE_CACHE_BYTES = 4 * 1024 * 1024;
+    private static final int EXPLORER_BATCH_SIZE = 16;
+    private static final long EXPLORER_BATCH_WINDOW_MILLIS = 20;
+    private static final long API_DEADLINE_SECONDS = 10;
+    private static final Uri SHELL_ORIGIN =
+            Uri.parse("https://" + WebViewAssetLoader.DEFAULT_DOMAIN);
+
+    private final AnomalyLog anomalyLog = new AnomalyLog(ANOMALY_LOG_CAPACITY);
+    private final LogcatAnomalySink anomalySink = new LogcatAnomalySink();
+    private final EngineConfig config = new EngineConfig.Builder()
+            .anomalyReporter(anomalyLog)
+            .build();
+    private final KeyManager keyManager =
+            new KeyManager(config.getSignatureAlgorithm(), KEY_POOL_SIZE);
+    private EngineBootstrap bootstrap;
+    private WebMessageBridge webBridge;
+    private AssetPathHandler assetHandler;
+    private long pageStartedAt;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
-BlackoutEngine engine = new BlackoutEngine();
-engine.setState(EngineState.ACTIVE);
+        anomalyLog.start(anomalySink, ANOMALY_DRAIN_MILLIS);
+        // Public chain data for the Explorer panel is the only cacheable
+        // API surface; everything else always goes to the network.
+        ResponseCache.Builder responseCache =
+                new ResponseCache.Builder(new File(getCacheDir(), "api-responses.seg"))
+                        .maxBytes(RESPONSE_CACHE_BYTES)
+                        .nonSensitive("/explorer", 30, 300, TimeUnit.SECONDS);
+        bootstrap = new EngineBootstrap(config, keyManager, API_BASE_URL, responseCache);
+
+        // UI first: nothing below blocks the main thread. Page requests
+        // sent before the engine is ready wait in the dispatcher.
+        WebView webView = findViewById(R.id.webview);
+        webView.getSettings().setJavaScriptEnabled(true);
+        webView.getSettings().setDomStorageEnabled(true);
+        assetHandler = new AssetPathHandler(getAssets(), ASSET_CACHE_BYTES);
+        WebViewAssetLoader assetLoader = new WebViewAssetLoader.Builder()
+                .addPathHandler("/assets/", assetHandler)
+                .build();
+        webBridge = new WebMessageBridge(webView, new BridgeDispatcher(
+                bootstrap.pageSigner(),
+                bootstrap.bridge().thenApply(this::buildRouter),
+                BRIDGE_MAX_IN_FLIGHT), SHELL_ORIGIN);
+        webView.setWebViewClient(new WebViewClient() {
+            @Override
+            public WebResourceResponse shouldInterceptRequest(WebView view,
+                                                              WebResourceRequest request) {
+                return assetLoader.shouldInterceptRequest(request.getUrl());
+            }
+
+            @Override
+            public void onPageStarted(WebView view, String url, Bitmap favicon) {
+                pageStartedAt = SystemClock.uptimeMillis();
+            }
+
+            @Override
+            public void onPageFinished(WebView view, String url) {
+                Log.i(TAG, "Page load: " + (SystemClock.uptimeMillis() - pageStartedAt)
+                        + " ms, asset cache hits " + assetHandler.getCache().getHits()
+                        + " / misses " + assetHandler.getCache().getMisses());
+                if (WebMessageBridge.isSupported()) {
+                    webBridge.connect();
+                } else {
+                    Log.w(TAG, "WebView lacks binary message ports; bridge disabled");
+                }
+            }
+        });
+        webView.loadUrl(SHELL_ORIGIN + "/assets/index.html");
+        reportFirstFrame(webView);
+
+        bootstrap.ready().thenAccept(engine -> Log.i(TAG,
+                "Time to engine ready: " + sinceProcessStart() + " ms"));
+        bootstrap.bridge().thenAccept(bridge -> bootstrap.execute(() -> runSelfTest(bridge)));
+        bootstrap.start();
+    }
 
-ApiBridge bridge = new ApiBridge(
-    "https://laughing-telegram-r4r59gw5pg7q2p5j5-3000.app.github.dev",
-    engine
-);
+    @Override
+    protected void onStart() {
+        super.onStart();
+        keyManager.resume();
+    }
 
-String response = bridge.send("/command", "hello".getBytes());
-Log.i("Blackout-Command", "Response: " + response);
-        try {
-            // 1. Generate a temporary RSA keypair for testing
-            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
-            generator.initialize(2048);
-            KeyPair pair = generator.generateKeyPair();
+    @Override
+    protected void onStop() {
+        // Pooled ephemeral keys never outlive the foreground.
+        keyManager.pause();
+        super.onStop();
+    }
 
-            PublicKey publicKey = pair.getPublic();
-            PrivateKey privateKey = pair.getPrivate();
+    @Override
+    protected void onDestroy() {
+        webBridge.close();
+        assetHandler.shutdown();
+        bootstrap.shutdown();
+        keyManager.shutdown();
+        anomalyLog.stop(anomalySink);
+        super.onDestroy();
+    }
 
-            // 2. Initialize engine with public key
-            engine = new BlackoutEngine(publicKey);
+    /**
+     * Routes the page's commands: engine metrics, coalescing counters and
+     * asset preloading are answered in-process; "/command" and Explorer
+     * reads go to the API. Runs before the page can send anything through
+     * the bridge.
+     */
+    private BlackoutRouter buildRouter(ApiBridge bridge) {
+        // Explorer reads are idempotent; panels polling them share calls,
+        // and the reads a panel fires together go out in one envelope.
+        bridge.coalesce("/explorer");
+        bridge.batch("/explorer", "/batch", EXPLORER_BATCH_SIZE, EXPLORER_BATCH_WINDOW_MILLIS);
+        // Batches carry only Explorer reads, so they may be hedged and retried.
+        bridge.coalesce("/batch");
+        bridge.setDeadline(API_DEADLINE_SECONDS, TimeUnit.SECONDS);
+        return BlackoutRouter.builder(bridge)
+                .local("/api/coalesced", payload -> bridge.getCoalescedCounts().toString())
+                .local("/engine/metrics",
+                        payload -> bootstrap.ready().join().getMetrics().snapshot().toString())
+                .local("/assets/preload", payload -> {
+                    // Payload: the next panel's asset paths, one per line.
+                    String[] paths = new String(payload, StandardCharsets.UTF_8).split("\n");
+                    assetHandler.preload(Arrays.asList(paths));
+                    return "Preloading " + paths.length + " assets";
+                })
+                .remote("/command")
+                .remotePrefix("/explorer")
+                .build();
+    }
 
-            // 3. Run UNLOCK → EXECUTE → ERASE
-            engine.unlock(privateKey);
+    /**
+     * Sends a test command and signs a payload. The signature is taken in
+     * a session of its own, erased and closed before it returns. Runs on
+     * the bootstrap thread.
+     */
+    private void runSelfTest(ApiBridge bridge) {
+        BlackoutEngine engine = bootstrap.ready().join();
+        try {
+            String response = bridge.send("/command", "hello".getBytes());
+            Log.i("Blackout-Command", "Response: " + response);
 
             byte[] input = "Blackout Test Payload".getBytes();
-            byte[] output = engine.execute(input);
+            byte[] output = bootstrap.signer().join().sign(null, input).join().getSignature();
 
             Log.i(TAG, "Execution output (signature length): " + output.length);
-
-            engine.erase();
-
-            Log.i(TAG, "Engine state after teardown: " + engine.getState());
+            Log.i(TAG, "Engine metrics:\n" + engine.getMetrics().snapshot());
 
         } catch (Exception e) {
             Log.e(TAG, "Engine error", e);
         }
     }
+
+    /**
+     * Logs time-to-first-frame once the view has drawn for the first time.
+     */
+    private void reportFirstFrame(View view) {
+        ViewTreeObserver.OnDrawListener listener = new ViewTreeObserver.OnDrawListener() {
+            private boolean reported;
+
+            @Override
+            public void onDraw() {
+                if (reported) {
+                    return;
+                }
+                reported = true;
+                Log.i(TAG, "Time to first frame: " + sinceProcessStart() + " ms");
+                // Listeners cannot be removed from inside onDraw().
+                view.post(() -> view.getViewTreeObserver().removeOnDrawListener(this));
+            }
+        };
+        view.getViewTreeObserver().addOnDrawListener(listener);
+    }
+
+    private static long sinceProcessStart() {
+        return SystemClock.uptimeMillis() - Process.getStartUptimeMillis();
+    }
 }
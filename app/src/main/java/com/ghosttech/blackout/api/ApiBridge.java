@@ -1,36 +1,198 @@
 package com.ghosttech.blackout.api;
 
 import android.util.Log;
-import com.ghosttech.blackout.engine.BlackoutEngine;
-import org.json.JSONException;
-import org.json.JSONObject;
-import okhttp3.MediaType;
+import com.ghosttech.blackout.router.RouteTrie;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
-import okhttp3.Response;
 
 /**
 * ApiBridge connects the Android BlackoutEngine to
 * the GhostTech-API backend.
 * It signs payloads inside the engine boundary,
-* sends them to the API,
+* each request in a lifecycle of its own (see PayloadSigner),
+* sends them to the API as binary SignedEnvelopes,
 * validates responses, and enforces lifecycle rules.
+*
+* sendAsync() runs the same pipeline without blocking the caller,
+* with a bounded number of requests in flight.
+*
+* Each endpoint has its own latency tracking and circuit breaker, and
+* every call has a deadline (setDeadline()). For endpoints declared
+* idempotent, slow calls are hedged past the observed p95 and transient
+* failures are retried with jittered backoff within the deadline; other
+* endpoints are called once. An unhealthy endpoint fails fast with
+* CircuitOpenException.
+*
+* With a ResponseCache, endpoints it declares non-sensitive are served
+* from the device when fresh; stale entries are served at once and
+* refreshed in the background.
+*
+* Identical concurrent requests (same endpoint and payload) to endpoints
+* declared idempotent share one signed call and its response.
+*
+* Commands to endpoints declared batched are sent through a
+* CommandBatcher: several commands, one envelope, one signature.
+*
+* close() stops the bridge's threads and fails whatever is still in
+* flight; call it when the bridge is no longer needed.
 */
-public class ApiBridge {
+public class ApiBridge implements AutoCloseable {
 
 private static final String TAG = "BlackoutApiBridge";
-private static final MediaType JSON =
-MediaType.get("application/json; charset=utf-8");
+private static final int DEFAULT_MAX_IN_FLIGHT = 8;
+private static final long DEFAULT_DEADLINE_NANOS = TimeUnit.SECONDS.toNanos(10);
 
 private final OkHttpClient client;
 private final String baseUrl;
-private final BlackoutEngine engine;
+private final PayloadSigner signer;
+private final Semaphore inFlight;
+private final ResponseValidator validator;
+private final ScheduledExecutorService scheduler;
+private final ConcurrentHashMap<String, EndpointHealth> healthByEndpoint;
+private final ResponseCache cache;
+private final Set<String> revalidating;
+private final RequestCoalescer coalescer;
+private final RouteTrie.Builder<Boolean> idempotentRoutes;
+private volatile RouteTrie<Boolean> idempotent;
+private final RouteTrie.Builder<CommandBatcher> batchedRoutes;
+private volatile RouteTrie<CommandBatcher> batched;
+private final List<CommandBatcher> batchers;
+private volatile long deadlineNanos = DEFAULT_DEADLINE_NANOS;
+private volatile boolean closed;
+
+public ApiBridge(String baseUrl, PayloadSigner signer) {
+this(baseUrl, signer, DEFAULT_MAX_IN_FLIGHT, null);
+}
 
-public ApiBridge(String baseUrl, BlackoutEngine engine) {
-this.client = new OkHttpClient();
+/**
+* @param cache Response cache for non-sensitive endpoints.
+*/
+public ApiBridge(String baseUrl, PayloadSigner signer, ResponseCache cache) {
+this(baseUrl, signer, DEFAULT_MAX_IN_FLIGHT, cache);
+}
+
+/**
+* @param maxInFlight Maximum number of sendAsync() requests in flight.
+*/
+public ApiBridge(String baseUrl, PayloadSigner signer, int maxInFlight) {
+this(baseUrl, signer, maxInFlight, null);
+}
+
+/**
+* @param maxInFlight Maximum number of sendAsync() requests in flight.
+* @param cache Response cache for non-sensitive endpoints; null for none.
+*/
+public ApiBridge(String baseUrl, PayloadSigner signer, int maxInFlight, ResponseCache cache) {
+Dispatcher dispatcher = new Dispatcher();
+// Leave room for one hedge per request.
+dispatcher.setMaxRequests(maxInFlight * 2);
+dispatcher.setMaxRequestsPerHost(maxInFlight * 2);
+this.client = new OkHttpClient.Builder()
+.dispatcher(dispatcher)
+.build();
 this.baseUrl = baseUrl;
-this.engine = engine;
+this.signer = signer;
+this.inFlight = new Semaphore(maxInFlight);
+this.validator = new ResponseValidator();
+this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+Thread thread = new Thread(runnable, "Blackout-ApiBridge");
+thread.setDaemon(true);
+return thread;
+});
+this.healthByEndpoint = new ConcurrentHashMap<>();
+this.cache = cache;
+this.revalidating = ConcurrentHashMap.newKeySet();
+this.coalescer = new RequestCoalescer();
+this.idempotentRoutes = RouteTrie.builder();
+this.idempotent = idempotentRoutes.build();
+this.batchedRoutes = RouteTrie.builder();
+this.batched = batchedRoutes.build();
+this.batchers = new ArrayList<>();
+}
+
+/**
+* Sets how long a request may take, from signing to a validated
+* response, across all its attempts. Default 10 seconds. Applies to
+* requests sent after this returns.
+*
+* @param timeout Deadline per request; must be positive.
+* @param unit Unit of timeout.
+*/
+public void setDeadline(long timeout, TimeUnit unit) {
+if (timeout <= 0) {
+throw new IllegalArgumentException("Deadline must be positive");
+}
+deadlineNanos = unit.toNanos(timeout);
+}
+
+/**
+* Declares an endpoint, and every endpoint below it, idempotent:
+* identical requests in flight at the same time are coalesced into one
+* signed call, and slow or failed calls may be hedged and retried.
+* Never declare an endpoint whose calls change state.
+* Applies to requests sent after this returns.
+*
+* @param prefix Endpoint prefix, e.g. "/explorer".
+*/
+public synchronized void coalesce(String prefix) {
+idempotentRoutes.prefix(prefix, Boolean.TRUE);
+idempotent = idempotentRoutes.build();
+}
+
+/**
+* Batches commands to an endpoint, and every endpoint below it: those
+* sent within windowMillis of each other, up to maxBatchSize, go to
+* batchEndpoint in one signed envelope, and each caller gets its own
+* result back. Caching and coalescing still apply per command.
+* Applies to requests sent after this returns.
+*
+* @param prefix Endpoint prefix, e.g. "/explorer".
+* @param batchEndpoint Route that accepts batched envelopes, e.g. "/batch".
+* @param maxBatchSize Number of commands that triggers an immediate flush.
+* @param windowMillis Longest time a command waits for others to join it.
+*/
+public synchronized void batch(String prefix, String batchEndpoint,
+int maxBatchSize, long windowMillis) {
+RouteTrie<Boolean> covered = RouteTrie.<Boolean>builder().prefix(prefix, Boolean.TRUE).build();
+if (covered.lookup(batchEndpoint) != null) {
+throw new IllegalArgumentException("Batch endpoint must not be batched itself");
+}
+CommandBatcher batcher = new CommandBatcher(this, batchEndpoint, maxBatchSize, windowMillis);
+batchedRoutes.prefix(prefix, batcher);
+batched = batchedRoutes.build();
+batchers.add(batcher);
+}
+
+/**
+* Returns how many calls to an endpoint were saved by coalescing.
+*/
+public long getCoalescedCount(String endpoint) {
+return coalescer.getSaved(endpoint);
+}
+
+/**
+* Returns the coalesced-call count of every endpoint that has one.
+*/
+public Map<String, Long> getCoalescedCounts() {
+return coalescer.getSavedByEndpoint();
 }
 
 /**
@@ -39,60 +201,247 @@ this.engine = engine;
 * @param endpoint API route (e.g., "/command")
 * @param payload Raw data to sign and send.
 * @return API response as string, or null on failure.
+* The cause is logged; use sendAsync() to handle it.
 */
 public String send(String endpoint, byte[] payload) {
 try {
-if (engine == null || !engine.isReady()) {
-Log.e(TAG, "Engine not ready");
+return sendAsync(endpoint, payload).get();
+} catch (ExecutionException e) {
+Log.e(TAG, "send() failed", e.getCause());
+return null;
+} catch (InterruptedException e) {
+Thread.currentThread().interrupt();
+Log.e(TAG, "send() interrupted", e);
 return null;
 }
+}
 
-byte[] signed = engine.signPayload(payload);
-String url = normalizeUrl(baseUrl, endpoint);
-
-RequestBody body = RequestBody.create(signed, JSON);
-Request request = new Request.Builder()
-.url(url)
-.post(body)
-.build();
+/**
+* Sends a signed payload to the GhostTech API without blocking.
+*
+* Signing runs to completion in a session of its own on the signer
+* before the call is enqueued, so cancelling the future never leaves
+* an engine session mid-operation; it only cancels the HTTP call.
+*
+* When maxInFlight requests are already outstanding, the returned
+* future fails immediately with RejectedExecutionException; callers
+* should back off and retry.
+*
+* A cached response for a non-sensitive endpoint completes the future
+* before this returns, without signing or network I/O. For an
+* idempotent endpoint, the future may be shared with identical
+* requests already in flight; cancelling it detaches only this caller.
+*
+* @param endpoint API route (e.g., "/command")
+* @param payload Raw data to sign and send.
+* @return Future completed with the validated response body.
+*/
+public CompletableFuture<String> sendAsync(String endpoint, byte[] payload) {
+ResponseCache.Policy policy = cache != null ? cache.policyFor(endpoint) : null;
+boolean shared = idempotent.lookup(endpoint) != null;
+if (policy == null && !shared) {
+return transmit(endpoint, payload);
+}
 
-Response response = client.newCall(request).execute();
+String key = ResponseCache.keyFor(endpoint, payload);
+if (policy != null) {
+ResponseCache.Entry cached = cache.get(key, policy);
+if (cached != null) {
+if (cached.isStale()) {
+revalidate(endpoint, payload, key);
+}
+return CompletableFuture.completedFuture(cached.getBody());
+}
+}
 
-if (!response.isSuccessful()) {
-Log.e(TAG, "API call failed: " + response.code());
-return null;
+if (shared) {
+return coalescer.execute(endpoint, key, () -> fetch(endpoint, payload, key, policy));
+}
+return fetch(endpoint, payload, key, policy);
 }
 
-String responseBody = response.body().string();
+/**
+* Sends the request and, for a cacheable endpoint, stores the
+* validated response.
+*/
+private CompletableFuture<String> fetch(
+String endpoint, byte[] payload, String key, ResponseCache.Policy policy) {
+CompletableFuture<String> future = transmit(endpoint, payload);
+if (policy != null) {
+future.thenAccept(body -> cache.put(key, body));
+}
+return future;
+}
 
-if (!isValidResponse(responseBody)) {
-Log.e(TAG, "Invalid API response");
-return null;
+/**
+* Sends one command: through its batcher if the endpoint is batched,
+* otherwise in an envelope of its own.
+*/
+private CompletableFuture<String> transmit(String endpoint, byte[] payload) {
+CommandBatcher batcher = batched.lookup(endpoint);
+return batcher != null
+? batcher.submit(endpoint, payload)
+: sendSigned(endpoint, payload);
 }
 
-return responseBody;
+private CompletableFuture<String> sendSigned(String endpoint, byte[] payload) {
+return dispatchAsync(endpoint,
+() -> SignedEnvelope.sign(signer, payload).thenApply(SignedEnvelope::toRequestBody));
+}
 
-} catch (Exception e) {
-Log.e(TAG, "send() exception", e);
-return null;
+/**
+* Refreshes a stale cache entry in the background, once per key at a
+* time. On failure the stale entry stays until its window closes.
+*/
+private void revalidate(String endpoint, byte[] payload, String key) {
+if (!revalidating.add(key)) {
+return;
+}
+transmit(endpoint, payload).whenComplete((body, error) -> {
+revalidating.remove(key);
+if (error == null) {
+cache.put(key, body);
 }
+});
 }
 
 /**
-* Basic response validation hook.
-* You can tighten this to enforce GhostTech rules.
+* Runs the async pipeline: local checks, admission, signing, then a
+* HedgedCall for hedging, retry, and validation.
+*
+* The circuit is only peeked at before signing. HedgedCall takes its
+* admission (and a half-open probe) just before the network call, so a
+* request that fails locally never holds the probe without reporting.
+*
+* The in-flight permit is held until signing has finished and the
+* returned future is done, whichever is later. A caller that cancels
+* stops the HTTP calls (HedgedCall cancels them) but not a signing
+* session already running, which still counts until it closes.
+*
+* @param bodyFactory Starts signing the request body; called once per
+* request however many attempts are made.
 */
-private boolean isValidResponse(String responseBody) {
+private CompletableFuture<String> dispatchAsync(
+String endpoint, Supplier<CompletableFuture<RequestBody>> bodyFactory) {
+CompletableFuture<String> future = new CompletableFuture<>();
+long timeoutNanos = deadlineNanos;
+// Hedges and retries resend the request; only safe where it is idempotent.
+boolean retryable = idempotent.lookup(endpoint) != null;
+
+if (closed) {
+future.completeExceptionally(new IllegalStateException("Bridge closed"));
+return future;
+}
+if (signer == null) {
+future.completeExceptionally(new IllegalStateException("Engine not ready"));
+return future;
+}
+if (!inFlight.tryAcquire()) {
+future.completeExceptionally(
+new RejectedExecutionException("Too many requests in flight"));
+return future;
+}
+
+EndpointHealth health = healthByEndpoint.computeIfAbsent(
+endpoint, key -> new EndpointHealth());
+if (!health.mayAllowRequest()) {
+// Fail fast before spending a signature on an unhealthy endpoint.
+inFlight.release();
+future.completeExceptionally(new CircuitOpenException(endpoint));
+return future;
+}
+
+CompletableFuture<RequestBody> signing;
 try {
-JSONObject obj = new JSONObject(responseBody);
-if (!obj.has("status")) return false;
+signing = bodyFactory.get();
+} catch (RuntimeException e) {
+inFlight.release();
+future.completeExceptionally(e);
+return future;
+}
+CompletableFuture.allOf(signing, future).whenComplete((ignored, error) -> inFlight.release());
+
+signing.whenComplete((body, error) -> {
+if (future.isDone()) {
+// Cancelled while signing; the signing session has already closed.
+return;
+}
+if (closed) {
+future.completeExceptionally(new IllegalStateException("Bridge closed"));
+return;
+}
+if (error != null) {
+future.completeExceptionally(
+error instanceof CompletionException && error.getCause() != null
+? error.getCause()
+: error);
+return;
+}
+
+Request request;
+try {
+request = new Request.Builder()
+.url(normalizeUrl(baseUrl, endpoint))
+.post(body)
+.build();
+} catch (RuntimeException e) {
+future.completeExceptionally(e);
+return;
+}
+
+try {
+new HedgedCall(client, request, endpoint, health, validator, scheduler,
+timeoutNanos, retryable, future).start();
+} catch (RejectedExecutionException e) {
+// close() stopped the scheduler after the check above.
+future.completeExceptionally(new IllegalStateException("Bridge closed", e));
+}
+});
+return future;
+}
 
-String status = obj.optString("status", "error");
-return "ok".equalsIgnoreCase(status);
+/**
+* Closes the bridge: batched commands still queued and requests still
+* in flight fail, and the scheduler, the HTTP dispatcher's threads and
+* its pooled connections are released. Later sends fail with
+* IllegalStateException. Safe to call more than once.
+*/
+@Override
+public void close() {
+List<CommandBatcher> closing;
+synchronized (this) {
+if (closed) {
+return;
+}
+closed = true;
+closing = new ArrayList<>(batchers);
+}
+// The final flush reaches dispatchAsync() and fails there.
+for (CommandBatcher batcher : closing) {
+batcher.close();
+}
+scheduler.shutdownNow();
+client.dispatcher().cancelAll();
+client.dispatcher().executorService().shutdown();
+client.connectionPool().evictAll();
+}
 
-} catch (JSONException e) {
-Log.e(TAG, "isValidResponse() parse error", e);
-return false;
+/**
+* Warms the HTTP client off the UI thread: starts the dispatcher's
+* worker pool and resolves the API host, so the first send() does
+* not pay for either. Blocks on DNS; never call from the UI thread.
+* A failed lookup is ignored; the first real call retries it.
+*/
+public void warmUp() {
+client.dispatcher().executorService();
+HttpUrl url = HttpUrl.parse(baseUrl);
+if (url == null) {
+return;
+}
+try {
+client.dns().lookup(url.host());
+} catch (UnknownHostException e) {
+Log.w(TAG, "warmUp() could not resolve " + url.host());
 }
 }
 
@@ -108,15 +457,4 @@ return base + "/" + endpoint;
 return base + endpoint;
 }
 }
-
-/**
-* Simple Base64 encoder for payload/signature.
-*/
-private String bytesToBase64(byte[] data) {
-if (data == null) return "";
-return android.util.Base64.encodeToString(
-data,
-android.util.Base64.NO_WRAP
-);
-}
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.ghosttech.blackout.api;
+
+import java.io.IOException;
+
+/**
+ * Raised without touching the network when an endpoint's circuit breaker
+ * is open because the endpoint has recently been failing.
+ */
+public class CircuitOpenException extends IOException {
+
+    public CircuitOpenException(String endpoint) {
+        super("Circuit open for " + endpoint);
+    }
+}
@@ -0,0 +1,232 @@
+package com.ghosttech.blackout.api;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * CommandBatcher coalesces commands sent to ApiBridge into a single
+ * signed envelope.
+ *
+ * Commands submitted within the batching window, or until the batch
+ * reaches its size threshold, are combined, signed once inside the
+ * engine boundary, and POSTed in one request. The batched response
+ * is split back to the individual callers.
+ *
+ * ApiBridge.batch() creates one per batched endpoint prefix, and
+ * sendAsync() routes those endpoints through it.
+ *
+ * Wire format of the batch, carried as the payload of one
+ * SignedEnvelope (big-endian, length-prefixed like the envelope):
+ *   u8   batch version
+ *   u16  command count
+ *   per command:
+ *     u16  endpoint length, endpoint bytes (UTF-8)
+ *     u32  payload length,  payload bytes
+ *
+ * Payloads are copied once, into the batch; no String or Base64 form
+ * is made. The response body stays JSON:
+ *   {"status":"ok","results":[{...},...]}
+ * Results are matched to commands by position; each result must
+ * itself carry "status":"ok".
+ */
+public class CommandBatcher implements AutoCloseable {
+
+    public static final int BATCH_VERSION = 1;
+
+    private static final int MAX_COUNT = 0xFFFF;
+    private static final int MAX_ENDPOINT_LENGTH = 0xFFFF;
+
+    private final ApiBridge bridge;
+    private final String batchEndpoint;
+    private final int maxBatchSize;
+    private final long windowMillis;
+    private final ScheduledExecutorService scheduler;
+
+    private List<PendingCommand> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean closed;
+
+    /**
+     * @param bridge        Bridge used to sign and send envelopes.
+     * @param batchEndpoint Route that accepts batched envelopes (e.g., "/batch").
+     * @param maxBatchSize  Number of commands that triggers an immediate flush.
+     * @param windowMillis  Longest time a command waits for others to join it.
+     */
+    public CommandBatcher(ApiBridge bridge, String batchEndpoint, int maxBatchSize, long windowMillis) {
+        if (maxBatchSize <= 0 || maxBatchSize > MAX_COUNT) {
+            throw new IllegalArgumentException("Batch size must be between 1 and " + MAX_COUNT);
+        }
+        this.bridge = bridge;
+        this.batchEndpoint = batchEndpoint;
+        this.maxBatchSize = maxBatchSize;
+        this.windowMillis = windowMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Blackout-CommandBatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a command for the next batch.
+     *
+     * @param endpoint API route the command is addressed to.
+     * @param payload  Raw command data.
+     * @return Future completed with this command's result as a JSON string.
+     */
+    public CompletableFuture<String> submit(String endpoint, byte[] payload) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        byte[] endpointBytes = endpoint.getBytes(StandardCharsets.UTF_8);
+        if (endpointBytes.length > MAX_ENDPOINT_LENGTH) {
+            future.completeExceptionally(new IllegalArgumentException("Endpoint too long"));
+            return future;
+        }
+        List<PendingCommand> ready = null;
+
+        synchronized (this) {
+            if (closed) {
+                future.completeExceptionally(new IllegalStateException("Batcher closed"));
+                return future;
+            }
+            pending.add(new PendingCommand(endpointBytes, payload, future));
+            if (pending.size() >= maxBatchSize) {
+                ready = takePending();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (ready != null) {
+            dispatch(ready);
+        }
+        return future;
+    }
+
+    /**
+     * Sends whatever is queued now, without waiting for the window.
+     */
+    public void flush() {
+        List<PendingCommand> ready;
+        synchronized (this) {
+            ready = takePending();
+        }
+        dispatch(ready);
+    }
+
+    /**
+     * Flushes queued commands and stops accepting new ones.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        flush();
+        scheduler.shutdown();
+    }
+
+    private List<PendingCommand> takePending() {
+        List<PendingCommand> ready = pending;
+        pending = new ArrayList<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return ready;
+    }
+
+    private void dispatch(List<PendingCommand> batch) {
+        List<PendingCommand> live = new ArrayList<>(batch.size());
+        for (PendingCommand command : batch) {
+            // Callers that cancelled before the flush are left out.
+            if (!command.future.isDone()) {
+                live.add(command);
+            }
+        }
+        if (live.isEmpty()) {
+            return;
+        }
+
+        bridge.sendAsync(batchEndpoint, encodeBatch(live)).whenComplete((body, error) -> {
+            if (error != null) {
+                failAll(live, error);
+            } else {
+                splitResponse(live, body);
+            }
+        });
+    }
+
+    /**
+     * Encodes commands in the batch wire format, sized exactly up front.
+     */
+    private static byte[] encodeBatch(List<PendingCommand> batch) {
+        int length = 1 + 2;
+        for (PendingCommand command : batch) {
+            length += 2 + command.endpoint.length + 4 + command.payload.length;
+        }
+        ByteBuffer out = ByteBuffer.allocate(length);
+        out.put((byte) BATCH_VERSION);
+        out.putShort((short) batch.size());
+        for (PendingCommand command : batch) {
+            out.putShort((short) command.endpoint.length);
+            out.put(command.endpoint);
+            out.putInt(command.payload.length);
+            out.put(command.payload);
+        }
+        return out.array();
+    }
+
+    private static void splitResponse(List<PendingCommand> batch, String body) {
+        JSONArray results;
+        try {
+            results = new JSONObject(body).optJSONArray("results");
+        } catch (JSONException e) {
+            failAll(batch, e);
+            return;
+        }
+        if (results == null || results.length() != batch.size()) {
+            failAll(batch, new IOException("Batched response does not match request"));
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            CompletableFuture<String> future = batch.get(i).future;
+            Object result = results.opt(i);
+            if (result instanceof JSONObject
+                    && "ok".equalsIgnoreCase(((JSONObject) result).optString("status", "error"))) {
+                future.complete(result.toString());
+            } else {
+                future.completeExceptionally(new IOException("Invalid API response"));
+            }
+        }
+    }
+
+    private static void failAll(List<PendingCommand> batch, Throwable error) {
+        for (PendingCommand command : batch) {
+            command.future.completeExceptionally(error);
+        }
+    }
+
+    private static final class PendingCommand {
+        final byte[] endpoint;
+        final byte[] payload;
+        final CompletableFuture<String> future;
+
+        PendingCommand(byte[] endpoint, byte[] payload, CompletableFuture<String> future) {
+            this.endpoint = endpoint;
+            this.payload = payload;
+            this.future = future;
+        }
+    }
+}
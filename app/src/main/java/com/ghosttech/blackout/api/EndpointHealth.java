@@ -0,0 +1,140 @@
+package com.ghosttech.blackout.api;
+
+import java.util.Arrays;
+
+/**
+ * EndpointHealth tracks one API endpoint's recent latency and failures.
+ *
+ * Latency: a fixed ring of recent successful call times, from which the
+ * p95 hedge delay is derived once enough samples exist.
+ *
+ * Circuit breaker:
+ *  - CLOSED    Calls flow normally.
+ *  - OPEN      After consecutive failures; calls fail fast until the
+ *              cool-down elapses.
+ *  - HALF_OPEN One probe call is let through; its outcome closes or
+ *              re-opens the circuit. A probe the server answers with
+ *              a refusal (4xx, invalid body) still shows the endpoint
+ *              is up, so it closes the circuit too.
+ */
+final class EndpointHealth {
+
+    private enum Circuit { CLOSED, OPEN, HALF_OPEN }
+
+    private static final int SAMPLE_CAPACITY = 64;
+    private static final int MIN_SAMPLES_FOR_HEDGE = 16;
+    private static final int FAILURE_THRESHOLD = 5;
+    private static final long DEFAULT_OPEN_NANOS = 5_000_000_000L;
+
+    private final long openNanos;
+
+    private final long[] samples = new long[SAMPLE_CAPACITY];
+    private int sampleCount;
+    private int nextSample;
+
+    private Circuit circuit = Circuit.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+    private long probeStartedNanos;
+
+    EndpointHealth() {
+        this(DEFAULT_OPEN_NANOS);
+    }
+
+    /**
+     * @param openNanos How long the circuit stays open before a probe.
+     */
+    EndpointHealth(long openNanos) {
+        this.openNanos = openNanos;
+    }
+
+    /**
+     * Decides whether a call may proceed. Returns false while the
+     * circuit is open, or while a half-open probe is already out.
+     */
+    synchronized boolean allowRequest() {
+        if (circuit == Circuit.OPEN) {
+            if (System.nanoTime() - openedAtNanos < openNanos) {
+                return false;
+            }
+            circuit = Circuit.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (circuit == Circuit.HALF_OPEN) {
+            // A probe that never reported back (e.g. cancelled) expires.
+            if (probeInFlight && System.nanoTime() - probeStartedNanos < openNanos) {
+                return false;
+            }
+            probeInFlight = true;
+            probeStartedNanos = System.nanoTime();
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether allowRequest() would currently let a call through,
+     * without taking the half-open probe. For failing fast before work
+     * that precedes the call; the call itself must still ask allowRequest().
+     */
+    synchronized boolean mayAllowRequest() {
+        if (circuit == Circuit.OPEN) {
+            return System.nanoTime() - openedAtNanos >= openNanos;
+        }
+        if (circuit == Circuit.HALF_OPEN) {
+            return !probeInFlight || System.nanoTime() - probeStartedNanos >= openNanos;
+        }
+        return true;
+    }
+
+    /**
+     * Records a successful call and its latency.
+     */
+    synchronized void recordSuccess(long latencyNanos) {
+        samples[nextSample] = latencyNanos;
+        nextSample = (nextSample + 1) % SAMPLE_CAPACITY;
+        if (sampleCount < SAMPLE_CAPACITY) {
+            sampleCount++;
+        }
+        consecutiveFailures = 0;
+        circuit = Circuit.CLOSED;
+        probeInFlight = false;
+    }
+
+    /**
+     * Records a call the endpoint answered but refused: a 4xx other than
+     * 429, or a response that failed validation. The endpoint is up, so
+     * the failure streak ends and a half-open circuit closes; no latency
+     * sample is taken.
+     */
+    synchronized void recordRefusal() {
+        consecutiveFailures = 0;
+        circuit = Circuit.CLOSED;
+        probeInFlight = false;
+    }
+
+    /**
+     * Records a failed call attempt.
+     */
+    synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (circuit == Circuit.HALF_OPEN || consecutiveFailures >= FAILURE_THRESHOLD) {
+            circuit = Circuit.OPEN;
+            openedAtNanos = System.nanoTime();
+            probeInFlight = false;
+        }
+    }
+
+    /**
+     * Returns the observed p95 latency to wait before hedging, or -1 if
+     * there are not yet enough samples.
+     */
+    synchronized long hedgeDelayNanos() {
+        if (sampleCount < MIN_SAMPLES_FOR_HEDGE) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(samples, sampleCount);
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(sampleCount * 0.95) - 1];
+    }
+}
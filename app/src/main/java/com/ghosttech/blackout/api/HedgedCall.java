@@ -0,0 +1,207 @@
+package com.ghosttech.blackout.api;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * HedgedCall drives one signed request to completion under a deadline.
+ *
+ *  - Hedging: if a round's first call is still out after the endpoint's
+ *    observed p95, one duplicate is sent; the first good response wins
+ *    and the other call is cancelled.
+ *  - Retry: when every call in a round fails transiently (I/O error,
+ *    5xx, 429), a new round starts after a full-jitter exponential
+ *    backoff, as long as the deadline allows and the circuit is closed.
+ *  - Permanent failures (other 4xx, invalid response) end the call.
+ *
+ * Hedging and retry only apply to idempotent endpoints. Any other call
+ * is sent once: a duplicate of a state-changing command could apply it
+ * twice.
+ *
+ * Every duplicate and retry reuses the same Request, and so the same
+ * signed envelope body; no second signature is made.
+ */
+final class HedgedCall {
+
+    private static final long BACKOFF_BASE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long BACKOFF_CAP_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private final OkHttpClient client;
+    private final Request request;
+    private final String endpoint;
+    private final EndpointHealth health;
+    private final ResponseValidator validator;
+    private final ScheduledExecutorService scheduler;
+    private final long deadlineNanos;
+    private final boolean idempotent;
+    private final CompletableFuture<String> future;
+
+    private final List<Call> active = new ArrayList<>();
+    private int round;
+    private int outstanding;
+    private boolean hedged;
+    private IOException lastError;
+
+    HedgedCall(OkHttpClient client, Request request, String endpoint, EndpointHealth health,
+               ResponseValidator validator, ScheduledExecutorService scheduler,
+               long timeoutNanos, boolean idempotent, CompletableFuture<String> future) {
+        this.client = client;
+        this.request = request;
+        this.endpoint = endpoint;
+        this.health = health;
+        this.validator = validator;
+        this.scheduler = scheduler;
+        this.deadlineNanos = System.nanoTime() + timeoutNanos;
+        this.idempotent = idempotent;
+        this.future = future;
+    }
+
+    /**
+     * Starts the first round. Every round, the first included, asks the
+     * circuit just before its call goes out, so a half-open probe is only
+     * taken by a call that will report back to it.
+     */
+    void start() {
+        ScheduledFuture<?> deadline = scheduler.schedule(
+                () -> future.completeExceptionally(new InterruptedIOException("Deadline exceeded")),
+                deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        future.whenComplete((result, error) -> {
+            deadline.cancel(false);
+            cancelAll();
+        });
+        synchronized (this) {
+            launchRound();
+        }
+    }
+
+    private void launchRound() {
+        if (future.isDone()) {
+            return;
+        }
+        if (!health.allowRequest()) {
+            future.completeExceptionally(new CircuitOpenException(endpoint));
+            return;
+        }
+        hedged = false;
+        launch();
+        if (!idempotent) {
+            return;
+        }
+
+        long hedgeDelay = health.hedgeDelayNanos();
+        if (hedgeDelay > 0 && System.nanoTime() + hedgeDelay < deadlineNanos) {
+            int hedgedRound = round;
+            try {
+                scheduler.schedule(() -> hedge(hedgedRound), hedgeDelay, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // Bridge closed; the call in flight is being cancelled.
+            }
+        }
+    }
+
+    private synchronized void hedge(int hedgedRound) {
+        if (future.isDone() || hedgedRound != round || hedged || outstanding == 0) {
+            return;
+        }
+        hedged = true;
+        launch();
+    }
+
+    private void launch() {
+        Call call = client.newCall(request);
+        active.add(call);
+        outstanding++;
+        long startedNanos = System.nanoTime();
+
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call failed, IOException e) {
+                onAttemptFailed(failed, e);
+            }
+
+            @Override
+            public void onResponse(Call completed, Response response) {
+                try (Response closing = response) {
+                    int code = closing.code();
+                    if (!closing.isSuccessful()) {
+                        IOException error = new IOException("API call failed: " + code);
+                        if (code >= 500 || code == 429) {
+                            onAttemptFailed(completed, error);
+                        } else {
+                            // The endpoint answered; only the request was refused.
+                            health.recordRefusal();
+                            future.completeExceptionally(error);
+                        }
+                        return;
+                    }
+                    String body = new String(
+                            validator.readValidated(closing.body()), StandardCharsets.UTF_8);
+                    health.recordSuccess(System.nanoTime() - startedNanos);
+                    future.complete(body);
+                } catch (InvalidResponseException e) {
+                    health.recordRefusal();
+                    future.completeExceptionally(e);
+                } catch (IOException e) {
+                    onAttemptFailed(completed, e);
+                }
+            }
+        });
+    }
+
+    private synchronized void onAttemptFailed(Call call, IOException error) {
+        active.remove(call);
+        if (future.isDone()) {
+            // Includes calls cancelled after another call won.
+            return;
+        }
+        health.recordFailure();
+        lastError = error;
+        if (--outstanding > 0) {
+            // The hedge partner is still out.
+            return;
+        }
+        if (!idempotent) {
+            future.completeExceptionally(lastError);
+            return;
+        }
+
+        long backoff = ThreadLocalRandom.current().nextLong(
+                Math.min(BACKOFF_CAP_NANOS, BACKOFF_BASE_NANOS << Math.min(round, 16)) + 1);
+        if (System.nanoTime() + backoff >= deadlineNanos) {
+            future.completeExceptionally(lastError);
+            return;
+        }
+        round++;
+        try {
+            scheduler.schedule(this::retry, backoff, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // Bridge closed: no more rounds.
+            future.completeExceptionally(lastError);
+        }
+    }
+
+    private synchronized void retry() {
+        launchRound();
+    }
+
+    private synchronized void cancelAll() {
+        for (Call call : active) {
+            call.cancel();
+        }
+        active.clear();
+    }
+}
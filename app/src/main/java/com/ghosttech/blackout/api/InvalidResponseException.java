@@ -0,0 +1,15 @@
+package com.ghosttech.blackout.api;
+
+import java.io.IOException;
+
+/**
+ * Raised when a response arrived but failed validation: a non-ok status,
+ * a malformed body, or a body over the size limit. Retrying the same
+ * request will not fix it.
+ */
+public class InvalidResponseException extends IOException {
+
+    public InvalidResponseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,39 @@
+package com.ghosttech.blackout.api;
+
+/**
+ * PayloadSignature is a signature made by a PayloadSigner, together with
+ * the public key that verifies it.
+ *
+ * Every signature is made under an ephemeral keypair that exists for
+ * that one request, so no verifier can hold the key in advance; the
+ * public half travels with the signature, X.509 (SubjectPublicKeyInfo)
+ * encoded, and the private half is already destroyed.
+ */
+public final class PayloadSignature {
+
+    private final byte[] publicKey;
+    private final byte[] signature;
+
+    /**
+     * @param publicKey X.509 encoding of the key that verifies the signature.
+     * @param signature Signature bytes.
+     */
+    public PayloadSignature(byte[] publicKey, byte[] signature) {
+        this.publicKey = publicKey;
+        this.signature = signature;
+    }
+
+    /**
+     * Returns the X.509 encoding of the key that verifies the signature.
+     */
+    public byte[] getPublicKey() {
+        return publicKey;
+    }
+
+    /**
+     * Returns the signature bytes.
+     */
+    public byte[] getSignature() {
+        return signature;
+    }
+}
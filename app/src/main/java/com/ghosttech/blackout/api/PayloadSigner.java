@@ -0,0 +1,36 @@
+package com.ghosttech.blackout.api;
+
+import com.ghosttech.blackout.engine.SignatureAlgorithm;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * PayloadSigner signs request data inside the engine boundary for
+ * ApiBridge and the page bridge.
+ *
+ * Every call is one complete UNLOCK → EXECUTE → ERASE lifecycle on a
+ * session no other call is using, under a fresh ephemeral key, so no
+ * key outlives the request it signed. Signing runs off the caller's
+ * thread and, once started, always runs to the end of its lifecycle;
+ * cancelling the returned future only discards the signature.
+ *
+ * The key is gone once the signature is made, so each signature comes
+ * back with the public key that verifies it (see PayloadSignature).
+ */
+public interface PayloadSigner {
+
+    /**
+     * Returns the signature scheme signatures are made with.
+     */
+    SignatureAlgorithm getSignatureAlgorithm();
+
+    /**
+     * Signs header || payload. The two parts are joined only inside the
+     * classified buffer.
+     *
+     * @param header  Bytes that precede the payload; may be null.
+     * @param payload Data to sign.
+     * @return Future completed with the signature and its verifying key.
+     */
+    CompletableFuture<PayloadSignature> sign(byte[] header, byte[] payload);
+}
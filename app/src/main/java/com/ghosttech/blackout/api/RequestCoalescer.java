@@ -0,0 +1,161 @@
+package com.ghosttech.blackout.api;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * RequestCoalescer shares one in-flight call between identical requests
+ * to idempotent endpoints (single-flight).
+ *
+ *  - The first request for a key starts the call; requests for the same
+ *    key that arrive while it is in flight join it and make no call,
+ *    no signature and take no in-flight slot of their own.
+ *  - Every waiter gets its own future. The call's result or failure is
+ *    fanned out to all of them.
+ *  - Cancelling a waiter detaches only that waiter. When the last one
+ *    is cancelled, the shared call is cancelled too.
+ *  - Once the call completes, the key is free; the next request starts
+ *    a new call.
+ *
+ * Each joined request is counted as saved, per endpoint.
+ */
+final class RequestCoalescer {
+
+    private final ConcurrentHashMap<String, Flight> flights = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> savedByEndpoint = new ConcurrentHashMap<>();
+
+    /**
+     * Joins the call in flight for key, or starts one.
+     *
+     * @param endpoint Endpoint the saved count is recorded against.
+     * @param key      Identity of the request: endpoint plus payload digest.
+     * @param call     Starts the shared call; invoked at most once per flight.
+     */
+    CompletableFuture<String> execute(String endpoint, String key,
+                                      Supplier<CompletableFuture<String>> call) {
+        while (true) {
+            Flight flight = flights.get(key);
+            if (flight == null) {
+                Flight created = new Flight(key);
+                if (flights.putIfAbsent(key, created) != null) {
+                    continue;
+                }
+                CompletableFuture<String> waiter = created.join();
+                created.start(call);
+                return waiter;
+            }
+            CompletableFuture<String> waiter = flight.join();
+            if (waiter != null) {
+                savedByEndpoint.computeIfAbsent(endpoint, name -> new LongAdder()).increment();
+                return waiter;
+            }
+            // Finished between lookup and join; start a new flight.
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * Returns how many calls to an endpoint were saved by coalescing.
+     */
+    long getSaved(String endpoint) {
+        LongAdder saved = savedByEndpoint.get(endpoint);
+        return saved != null ? saved.sum() : 0;
+    }
+
+    /**
+     * Returns the saved count of every endpoint that has one.
+     */
+    Map<String, Long> getSavedByEndpoint() {
+        Map<String, Long> snapshot = new HashMap<>();
+        for (Map.Entry<String, LongAdder> entry : savedByEndpoint.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().sum());
+        }
+        return snapshot;
+    }
+
+    private final class Flight {
+
+        private final String key;
+        private final List<CompletableFuture<String>> waiters = new ArrayList<>();
+        private CompletableFuture<String> upstream;
+        private boolean closed;
+
+        Flight(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Adds a waiter, or returns null if the flight has already ended.
+         */
+        synchronized CompletableFuture<String> join() {
+            if (closed) {
+                return null;
+            }
+            CompletableFuture<String> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            waiter.whenComplete((result, error) -> {
+                if (waiter.isCancelled()) {
+                    leave(waiter);
+                }
+            });
+            return waiter;
+        }
+
+        void start(Supplier<CompletableFuture<String>> call) {
+            CompletableFuture<String> started;
+            try {
+                started = call.get();
+            } catch (RuntimeException e) {
+                started = new CompletableFuture<>();
+                started.completeExceptionally(e);
+            }
+            boolean abandoned;
+            synchronized (this) {
+                upstream = started;
+                abandoned = closed;
+            }
+            if (abandoned) {
+                started.cancel(false);
+            }
+            started.whenComplete(this::finish);
+        }
+
+        private void finish(String result, Throwable error) {
+            List<CompletableFuture<String>> done;
+            synchronized (this) {
+                closed = true;
+                done = new ArrayList<>(waiters);
+                waiters.clear();
+            }
+            flights.remove(key, this);
+            for (CompletableFuture<String> waiter : done) {
+                if (error == null) {
+                    waiter.complete(result);
+                } else {
+                    waiter.completeExceptionally(error);
+                }
+            }
+        }
+
+        private void leave(CompletableFuture<String> waiter) {
+            CompletableFuture<String> abandoned;
+            synchronized (this) {
+                if (closed || !waiters.remove(waiter) || !waiters.isEmpty()) {
+                    return;
+                }
+                closed = true;
+                abandoned = upstream;
+            }
+            flights.remove(key, this);
+            if (abandoned != null) {
+                abandoned.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,470 @@
+package com.ghosttech.blackout.api;
+
+import com.ghosttech.blackout.router.RouteTrie;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * ResponseCache keeps validated API responses for endpoints explicitly
+ * declared non-sensitive, on the device only.
+ *
+ * Storage is one memory-mapped, append-only segment file with an
+ * in-memory index from key to record offset, so a cached read is a map
+ * lookup plus a decode of a slice of the mapping: no HTTP round-trip,
+ * no file read, no reparse. The index is rebuilt from the file on open,
+ * so cached responses survive restarts.
+ *
+ * Rules enforced:
+ *  - Only endpoints under a nonSensitive() prefix are cached. Bodies are
+ *    stored in clear; never declare an endpoint that returns wallet,
+ *    key or session data.
+ *  - Keys are endpoint plus the SHA-256 of the request payload; the
+ *    payload itself is never stored.
+ *  - Size: the segment never grows past maxBytes. Least recently used
+ *    entries are evicted first, and a full segment is compacted into a
+ *    fresh file that replaces it.
+ *  - Removal is durable: an invalidated, expired, evicted or replaced
+ *    entry is tombstoned in the file, so it does not come back on open.
+ *  - Freshness: an entry younger than its TTL is served as is; within
+ *    the stale window after that it is served but reported stale, so the
+ *    caller revalidates in the background; older entries are dropped.
+ *
+ * Record layout (big-endian), appended after an 8-byte file header:
+ *   i32 record length (0 marks the end, negative a tombstone),
+ *   i32 CRC32 of the rest, i64 stored-at epoch millis,
+ *   u16 key length, key UTF-8, body UTF-8.
+ * The length is written last, so a torn append reads as the end; a
+ * record failing its CRC also ends the scan. Removing a record negates
+ * its length in place, a single aligned write.
+ *
+ * All methods are thread-safe.
+ */
+public final class ResponseCache implements Closeable {
+
+    /**
+     * Freshness rules for a group of endpoints.
+     */
+    public static final class Policy {
+
+        private final long ttlMillis;
+        private final long staleMillis;
+
+        private Policy(long ttlMillis, long staleMillis) {
+            this.ttlMillis = ttlMillis;
+            this.staleMillis = staleMillis;
+        }
+
+        public long getTtlMillis() {
+            return ttlMillis;
+        }
+
+        public long getStaleWhileRevalidateMillis() {
+            return staleMillis;
+        }
+    }
+
+    /**
+     * A cached response.
+     */
+    public static final class Entry {
+
+        private final String body;
+        private final boolean stale;
+
+        private Entry(String body, boolean stale) {
+            this.body = body;
+            this.stale = stale;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        /**
+         * Indicates the TTL has passed; serve it, but revalidate.
+         */
+        public boolean isStale() {
+            return stale;
+        }
+    }
+
+    private static final int FILE_MAGIC = 0x424C4B43; // "BLKC"
+    // Version 2 added tombstones; version 1 files may hold removed entries.
+    private static final int FILE_VERSION = 2;
+    private static final int FILE_HEADER = 8;
+    private static final int RECORD_HEADER = 4 + 4 + 8 + 2;
+    private static final int END_MARKER = 4;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final RouteTrie<Policy> policies;
+    private final File path;
+    private final int capacity;
+    private RandomAccessFile file;
+    private MappedByteBuffer segment;
+    private final LinkedHashMap<String, Slot> index = new LinkedHashMap<>(64, 0.75f, true);
+    private int writePosition;
+    private long liveBytes;
+    private long hits;
+    private long misses;
+
+    private ResponseCache(Builder builder) throws IOException {
+        this.policies = builder.policies.build();
+        this.path = builder.file;
+        this.capacity = builder.maxBytes;
+        this.file = new RandomAccessFile(path, "rw");
+        try {
+            boolean reset = file.length() != capacity;
+            if (reset) {
+                file.setLength(capacity);
+            }
+            this.segment = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            if (reset || segment.getInt(0) != FILE_MAGIC || segment.getInt(4) != FILE_VERSION) {
+                segment.putInt(0, FILE_MAGIC);
+                segment.putInt(4, FILE_VERSION);
+                segment.putInt(FILE_HEADER, 0);
+                writePosition = FILE_HEADER;
+            } else {
+                recover();
+            }
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the policy for an endpoint, or null if it must not be cached.
+     */
+    public Policy policyFor(String endpoint) {
+        return policies.lookup(endpoint);
+    }
+
+    /**
+     * Builds the cache key for a request.
+     */
+    public static String keyFor(String endpoint, byte[] payload) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(payload);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+        StringBuilder key = new StringBuilder(endpoint.length() + 1 + digest.length * 2)
+                .append(endpoint).append('#');
+        for (byte b : digest) {
+            key.append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Looks up a cached response.
+     *
+     * @return The entry, or null if absent or past its stale window.
+     */
+    public synchronized Entry get(String key, Policy policy) {
+        Slot slot = index.get(key);
+        if (slot == null) {
+            misses++;
+            return null;
+        }
+        long age = System.currentTimeMillis() - slot.storedAtMillis;
+        if (age > policy.ttlMillis + policy.staleMillis) {
+            remove(key);
+            misses++;
+            return null;
+        }
+        hits++;
+        // One bulk copy out of the mapping; decoding byte by byte from a
+        // direct buffer is several times slower.
+        ByteBuffer slice = segment.duplicate();
+        slice.position(slot.bodyOffset());
+        byte[] body = new byte[slot.offset + slot.length - slot.bodyOffset()];
+        slice.get(body);
+        return new Entry(new String(body, StandardCharsets.UTF_8), age > policy.ttlMillis);
+    }
+
+    /**
+     * Stores a response, replacing any entry with the same key. A
+     * response too large for the segment is not cached.
+     */
+    public synchronized void put(String key, String body) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+        int length = RECORD_HEADER + keyBytes.length + bodyBytes.length;
+        if (keyBytes.length > 0xFFFF || length > capacity - FILE_HEADER - END_MARKER) {
+            return;
+        }
+
+        remove(key);
+        Iterator<Map.Entry<String, Slot>> eldest = index.entrySet().iterator();
+        while (liveBytes + length > capacity - FILE_HEADER - END_MARKER) {
+            bury(eldest.next().getValue());
+            eldest.remove();
+        }
+        if (writePosition + length + END_MARKER > capacity) {
+            try {
+                compact();
+            } catch (IOException e) {
+                // The old segment is still intact; skip caching this one.
+                return;
+            }
+        }
+
+        long storedAt = System.currentTimeMillis();
+        int offset = writePosition;
+        ByteBuffer record = segment.duplicate();
+        record.position(offset + 8);
+        record.putLong(storedAt)
+                .putShort((short) keyBytes.length)
+                .put(keyBytes)
+                .put(bodyBytes);
+        segment.putInt(offset + length, 0);
+        segment.putInt(offset + 4, crc(offset, length));
+        segment.putInt(offset, length);
+
+        writePosition = offset + length;
+        index.put(key, new Slot(offset, length, keyBytes.length, storedAt));
+        liveBytes += length;
+    }
+
+    /**
+     * Drops one entry, e.g. after the API reports it changed.
+     */
+    public synchronized void invalidate(String key) {
+        remove(key);
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Flushes the segment to storage and closes the file.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        segment.force();
+        file.close();
+    }
+
+    private void remove(String key) {
+        Slot slot = index.remove(key);
+        if (slot != null) {
+            bury(slot);
+        }
+    }
+
+    /**
+     * Tombstones a record that has left the index.
+     */
+    private void bury(Slot slot) {
+        segment.putInt(slot.offset, -slot.length);
+        liveBytes -= slot.length;
+    }
+
+    /**
+     * Copies live records, in file order, into a fresh segment file and
+     * renames it over the current one. The current segment is never
+     * modified, so a crash before the rename leaves it as it was and a
+     * crash after leaves the complete new one. On failure the current
+     * segment stays in use.
+     */
+    private void compact() throws IOException {
+        List<Map.Entry<String, Slot>> live = new ArrayList<>(index.entrySet());
+        live.sort((a, b) -> Integer.compare(a.getValue().offset, b.getValue().offset));
+
+        File fresh = new File(path.getPath() + ".compact");
+        RandomAccessFile freshFile = new RandomAccessFile(fresh, "rw");
+        boolean swapped = false;
+        try {
+            freshFile.setLength(capacity);
+            MappedByteBuffer target = freshFile.getChannel()
+                    .map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            target.putInt(0, FILE_MAGIC);
+            target.putInt(4, FILE_VERSION);
+
+            List<Slot> moved = new ArrayList<>(live.size());
+            int position = FILE_HEADER;
+            byte[] copy = new byte[0];
+            for (Map.Entry<String, Slot> entry : live) {
+                Slot slot = entry.getValue();
+                if (copy.length < slot.length) {
+                    copy = new byte[slot.length];
+                }
+                ByteBuffer source = segment.duplicate();
+                source.position(slot.offset);
+                source.get(copy, 0, slot.length);
+                target.position(position);
+                target.put(copy, 0, slot.length);
+                moved.add(new Slot(position, slot.length, slot.keyLength, slot.storedAtMillis));
+                position += slot.length;
+            }
+            target.putInt(position, 0);
+            target.force();
+
+            if (!fresh.renameTo(path)) {
+                throw new IOException("Could not replace " + path);
+            }
+            swapped = true;
+            RandomAccessFile replaced = file;
+            file = freshFile;
+            segment = target;
+            for (int i = 0; i < live.size(); i++) {
+                live.get(i).setValue(moved.get(i));
+            }
+            writePosition = position;
+            replaced.close();
+        } finally {
+            if (!swapped) {
+                freshFile.close();
+                fresh.delete();
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the index from the segment, skipping tombstones. Later
+     * records replace earlier ones with the same key.
+     */
+    private void recover() {
+        int position = FILE_HEADER;
+        while (position + RECORD_HEADER <= capacity - END_MARKER) {
+            int length = segment.getInt(position);
+            if (length < 0 && -length >= RECORD_HEADER
+                    && position - length <= capacity - END_MARKER) {
+                // Tombstone: removed before the last close.
+                position -= length;
+                continue;
+            }
+            if (length < RECORD_HEADER || position + length > capacity - END_MARKER
+                    || segment.getInt(position + 4) != crc(position, length)) {
+                break;
+            }
+            int keyLength = segment.getShort(position + 16) & 0xFFFF;
+            if (RECORD_HEADER + keyLength > length) {
+                break;
+            }
+            byte[] keyBytes = new byte[keyLength];
+            ByteBuffer key = segment.duplicate();
+            key.position(position + RECORD_HEADER);
+            key.get(keyBytes);
+
+            String name = new String(keyBytes, StandardCharsets.UTF_8);
+            remove(name);
+            index.put(name, new Slot(position, length, keyLength, segment.getLong(position + 8)));
+            liveBytes += length;
+            position += length;
+        }
+        segment.putInt(position, 0);
+        writePosition = position;
+    }
+
+    private int crc(int offset, int length) {
+        ByteBuffer covered = segment.duplicate();
+        covered.limit(offset + length).position(offset + 8);
+        CRC32 crc = new CRC32();
+        byte[] chunk = new byte[Math.min(length, 4096)];
+        while (covered.hasRemaining()) {
+            int n = Math.min(chunk.length, covered.remaining());
+            covered.get(chunk, 0, n);
+            crc.update(chunk, 0, n);
+        }
+        return (int) crc.getValue();
+    }
+
+    private static final class Slot {
+
+        final int offset;
+        final int length;
+        final int keyLength;
+        final long storedAtMillis;
+
+        Slot(int offset, int length, int keyLength, long storedAtMillis) {
+            this.offset = offset;
+            this.length = length;
+            this.keyLength = keyLength;
+            this.storedAtMillis = storedAtMillis;
+        }
+
+        int bodyOffset() {
+            return offset + RECORD_HEADER + keyLength;
+        }
+    }
+
+    /**
+     * Declares cacheable endpoints, then opens the segment with build().
+     */
+    public static final class Builder {
+
+        private final File file;
+        private final RouteTrie.Builder<Policy> policies = RouteTrie.builder();
+        private int maxBytes = 4 * 1024 * 1024;
+
+        /**
+         * @param file Segment file; created if absent. Keep it in app-private
+         *             cache storage.
+         */
+        public Builder(File file) {
+            this.file = file;
+        }
+
+        /**
+         * Sets the segment size. Changing it discards existing entries.
+         */
+        public Builder maxBytes(int maxBytes) {
+            if (maxBytes < FILE_HEADER + RECORD_HEADER + END_MARKER) {
+                throw new IllegalArgumentException("Cache segment too small");
+            }
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * Marks an endpoint and everything below it as safe to cache.
+         *
+         * @param prefix               Endpoint prefix, e.g. "/explorer".
+         * @param ttl                  Time an entry is served as fresh.
+         * @param staleWhileRevalidate Further time it is served while a
+         *                             background call refreshes it.
+         */
+        public Builder nonSensitive(String prefix, long ttl, long staleWhileRevalidate, TimeUnit unit) {
+            if (ttl < 0 || staleWhileRevalidate < 0) {
+                throw new IllegalArgumentException("Invalid cache policy");
+            }
+            policies.prefix(prefix, new Policy(unit.toMillis(ttl), unit.toMillis(staleWhileRevalidate)));
+            return this;
+        }
+
+        /**
+         * Maps the segment file and rebuilds the index. Does file I/O.
+         */
+        public ResponseCache build() throws IOException {
+            return new ResponseCache(this);
+        }
+    }
+}
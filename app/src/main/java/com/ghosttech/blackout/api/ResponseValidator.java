@@ -0,0 +1,153 @@
+package com.ghosttech.blackout.api;
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+import android.util.MalformedJsonException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+
+/**
+ * ResponseValidator checks GhostTech API responses without
+ * materializing them.
+ *
+ * The top-level "status" field is found with a pull tokenizer reading
+ * from the response source. Scanning stops as soon as the field is
+ * seen, so a non-ok status is rejected without reading the rest of the
+ * body. Every response is held to a hard size limit.
+ *
+ * Tokenizing runs on a peek of the source, so the bytes it pulls stay
+ * available to the caller as a stream or as a bounded buffer.
+ */
+public class ResponseValidator {
+
+    /** Default hard limit on response size: 1 MiB. */
+    public static final long DEFAULT_MAX_BYTES = 1024 * 1024;
+
+    private final long maxBytes;
+
+    public ResponseValidator() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * @param maxBytes Largest response body accepted, in bytes.
+     */
+    public ResponseValidator(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Size limit must be positive");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Validates a response body and returns it as a bounded buffer.
+     *
+     * @param body The response body; it is consumed but not closed.
+     * @return The full body bytes.
+     * @throws InvalidResponseException if the status is not ok, the body
+     *                                   is malformed, or it exceeds the size limit.
+     * @throws IOException if reading the body fails.
+     */
+    public byte[] readValidated(ResponseBody body) throws IOException {
+        BufferedSource source = validate(body);
+        if (source.request(maxBytes + 1)) {
+            throw new InvalidResponseException("Response exceeds " + maxBytes + " bytes");
+        }
+        return source.readByteArray(source.getBuffer().size());
+    }
+
+    /**
+     * Validates a response body and returns it as a size-limited stream.
+     * The caller must close the response when done.
+     *
+     * @param body The response body.
+     * @return Stream over the full body, failing past the size limit.
+     * @throws InvalidResponseException if the status is not ok or the body is malformed.
+     * @throws IOException if reading the body fails.
+     */
+    public InputStream openValidated(ResponseBody body) throws IOException {
+        return new LimitedInputStream(validate(body).inputStream(), maxBytes);
+    }
+
+    /**
+     * Scans a peek of the body for the top-level status and returns the
+     * source, unconsumed, if the status is ok.
+     */
+    private BufferedSource validate(ResponseBody body) throws IOException {
+        if (body.contentLength() > maxBytes) {
+            throw new InvalidResponseException("Response exceeds " + maxBytes + " bytes");
+        }
+
+        BufferedSource source = body.source();
+        InputStream peek = new LimitedInputStream(source.peek().inputStream(), maxBytes);
+        JsonReader reader = new JsonReader(new InputStreamReader(peek, StandardCharsets.UTF_8));
+        boolean ok;
+        try {
+            ok = isStatusOk(reader);
+        } catch (MalformedJsonException | IllegalStateException e) {
+            ok = false;
+        }
+        if (!ok) {
+            throw new InvalidResponseException("Invalid API response");
+        }
+        return source;
+    }
+
+    private static boolean isStatusOk(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            return false;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("status".equals(reader.nextName())) {
+                return reader.peek() == JsonToken.STRING
+                        && "ok".equalsIgnoreCase(reader.nextString());
+            }
+            reader.skipValue();
+        }
+        return false;
+    }
+
+    /**
+     * Fails once more than a fixed number of bytes have been read.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                consume(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                consume(n);
+            }
+            return n;
+        }
+
+        private void consume(long n) throws IOException {
+            remaining -= n;
+            if (remaining < 0) {
+                throw new InvalidResponseException("Response exceeds size limit");
+            }
+        }
+    }
+}
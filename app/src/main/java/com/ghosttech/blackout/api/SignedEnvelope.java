@@ -0,0 +1,113 @@
+package com.ghosttech.blackout.api;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.concurrent.CompletableFuture;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+/**
+ * SignedEnvelope is the compact binary wire format for signed commands.
+ *
+ * Layout (big-endian, length-prefixed):
+ *   u8   version
+ *   u8   signature algorithm (SignatureAlgorithm wire id)
+ *   u16  nonce length,     nonce bytes
+ *   u32  payload length,   payload bytes
+ *   u16  key length,       public key bytes (X.509 SubjectPublicKeyInfo)
+ *   u16  signature length, signature bytes
+ *
+ * The signature covers every byte before the key length field. Each
+ * envelope is signed under an ephemeral key of its own, so the server
+ * verifies it with the public key the envelope carries.
+ * The request body writes the fields straight into the OkHttp sink;
+ * no String, Base64, or assembled copy of the envelope is made. The
+ * body can be written more than once, so retries reuse one signature.
+ */
+public final class SignedEnvelope {
+
+    public static final int VERSION = 3;
+
+    /** Content type servers negotiate on; the parameter names the layout version. */
+    public static final MediaType MEDIA_TYPE =
+            MediaType.get("application/vnd.ghosttech.envelope; v=" + VERSION);
+
+    private static final int NONCE_LENGTH = 16;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final byte[] header;
+    private final byte[] payload;
+    private final PayloadSignature signature;
+
+    private SignedEnvelope(byte[] header, byte[] payload, PayloadSignature signature) {
+        this.header = header;
+        this.payload = payload;
+        this.signature = signature;
+    }
+
+    /**
+     * Builds an envelope around a payload and signs it inside the engine.
+     *
+     * @param signer  Signs the envelope in a lifecycle of its own.
+     * @param payload Raw command data; referenced, not copied.
+     * @return Future completed with the signed envelope.
+     */
+    public static CompletableFuture<SignedEnvelope> sign(PayloadSigner signer, byte[] payload) {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        RANDOM.nextBytes(nonce);
+
+        // version | algorithm | nonce length | nonce | payload length
+        byte[] header = new byte[1 + 1 + 2 + NONCE_LENGTH + 4];
+        int i = 0;
+        header[i++] = (byte) VERSION;
+        header[i++] = (byte) signer.getSignatureAlgorithm().getWireId();
+        header[i++] = (byte) (NONCE_LENGTH >>> 8);
+        header[i++] = (byte) NONCE_LENGTH;
+        System.arraycopy(nonce, 0, header, i, NONCE_LENGTH);
+        i += NONCE_LENGTH;
+        header[i++] = (byte) (payload.length >>> 24);
+        header[i++] = (byte) (payload.length >>> 16);
+        header[i++] = (byte) (payload.length >>> 8);
+        header[i] = (byte) payload.length;
+
+        return signer.sign(header, payload)
+                .thenApply(signature -> new SignedEnvelope(header, payload, signature));
+    }
+
+    /**
+     * Returns the encoded size of the envelope in bytes.
+     */
+    public long length() {
+        return header.length + payload.length
+                + 2L + signature.getPublicKey().length
+                + 2L + signature.getSignature().length;
+    }
+
+    /**
+     * Returns a request body that streams this envelope into the sink.
+     */
+    public RequestBody toRequestBody() {
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return MEDIA_TYPE;
+            }
+
+            @Override
+            public long contentLength() {
+                return length();
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                sink.write(header);
+                sink.write(payload);
+                sink.writeShort(signature.getPublicKey().length);
+                sink.write(signature.getPublicKey());
+                sink.writeShort(signature.getSignature().length);
+                sink.write(signature.getSignature());
+            }
+        };
+    }
+}
@@ -0,0 +1,205 @@
+package com.ghosttech.blackout.arbitration;
+
+import com.ghosttech.blackout.engine.AnomalyCode;
+import com.ghosttech.blackout.engine.AnomalyReporter;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * AnomalyLog is a fixed-capacity, lock-free ring buffer of structured
+ * anomaly records: code, from/to ordinal, monotonic timestamp and
+ * session id.
+ *
+ * The engine reports into it from inside a failing transition, so
+ * report() only claims a slot and stores primitives: no locks, no
+ * allocation, no formatting, no I/O. A single consumer drains records
+ * later, either by calling drainTo() or through the background drainer
+ * started with start().
+ *
+ * When the ring is full, new records are dropped and counted; the
+ * oldest, undrained records are kept. Lockdown never depends on a
+ * record being stored.
+ *
+ * Rules enforced:
+ *  - Memory use is fixed at construction.
+ *  - Records carry no classified data.
+ *
+ * Authoritative reference: Blackout Engine Logic Sheet (Daniel)
+ */
+public class AnomalyLog implements AnomalyReporter {
+
+    /**
+     * Receives drained records, one call per record, on the draining thread.
+     */
+    public interface RecordSink {
+        void accept(AnomalyCode code, int from, int to, long timestampNanos, long sessionId);
+    }
+
+    private static final AnomalyCode[] CODES = AnomalyCode.values();
+
+    private final int mask;
+    private final int[] codes;
+    private final int[] froms;
+    private final int[] tos;
+    private final long[] timestamps;
+    private final long[] sessions;
+
+    // Slot i is free for the producer of position p when sequence[i] == p,
+    // and holds a record for the consumer when sequence[i] == p + 1.
+    private final AtomicLongArray sequence;
+    private final AtomicLong tail;
+    private final AtomicLong dropped;
+    private final AtomicLong sinkFailures;
+    private long head;
+
+    private ScheduledExecutorService drainer;
+
+    /**
+     * @param capacity Maximum undrained records; rounded up to a power of two.
+     */
+    public AnomalyLog(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity out of range");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.codes = new int[size];
+        this.froms = new int[size];
+        this.tos = new int[size];
+        this.timestamps = new long[size];
+        this.sessions = new long[size];
+        this.sequence = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequence.set(i, i);
+        }
+        this.tail = new AtomicLong();
+        this.dropped = new AtomicLong();
+        this.sinkFailures = new AtomicLong();
+        this.head = 0;
+    }
+
+    /**
+     * Appends a record. Safe from any number of threads; never blocks.
+     * Drops the record if the ring is full.
+     */
+    @Override
+    public void report(AnomalyCode code, int from, int to, long timestampNanos, long sessionId) {
+        long position;
+        int slot;
+        while (true) {
+            position = tail.get();
+            slot = (int) position & mask;
+            long available = sequence.get(slot) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (available < 0) {
+                // Full: the consumer has not freed this slot yet.
+                dropped.incrementAndGet();
+                return;
+            }
+            // Otherwise another producer claimed this position; reload.
+        }
+
+        codes[slot] = code.ordinal();
+        froms[slot] = from;
+        tos[slot] = to;
+        timestamps[slot] = timestampNanos;
+        sessions[slot] = sessionId;
+        // Publishes the fields above to the consumer.
+        sequence.lazySet(slot, position + 1);
+    }
+
+    /**
+     * Hands every published record to the sink, oldest first, and frees
+     * its slot. Only one thread may drain at a time.
+     *
+     * @return The number of records drained.
+     */
+    public synchronized int drainTo(RecordSink sink) {
+        int drained = 0;
+        while (true) {
+            int slot = (int) head & mask;
+            if (sequence.get(slot) != head + 1) {
+                return drained;
+            }
+            AnomalyCode code = CODES[codes[slot]];
+            int from = froms[slot];
+            int to = tos[slot];
+            long timestamp = timestamps[slot];
+            long session = sessions[slot];
+            sequence.lazySet(slot, head + mask + 1);
+            head++;
+            drained++;
+            sink.accept(code, from, to, timestamp, session);
+        }
+    }
+
+    /**
+     * Starts a background drainer that feeds the sink at a fixed interval.
+     * An exception thrown by the sink is counted and the drainer keeps
+     * running; the record it was handed is not redelivered.
+     *
+     * @param sink           Receives the records; may format and do I/O.
+     * @param intervalMillis Time between drains.
+     */
+    public synchronized void start(RecordSink sink, long intervalMillis) {
+        if (drainer != null) {
+            throw new IllegalStateException("Drainer already running");
+        }
+        drainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Blackout-AnomalyLog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // A task that throws is cancelled by the executor, so the sink must not escape.
+        drainer.scheduleWithFixedDelay(() -> {
+            try {
+                drainTo(sink);
+            } catch (RuntimeException e) {
+                sinkFailures.incrementAndGet();
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background drainer, then drains what is left into the sink.
+     */
+    public void stop(RecordSink sink) {
+        ScheduledExecutorService running;
+        synchronized (this) {
+            running = drainer;
+            drainer = null;
+        }
+        if (running != null) {
+            running.shutdown();
+        }
+        drainTo(sink);
+    }
+
+    /**
+     * Returns the number of records dropped because the ring was full.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Returns the number of times the sink threw on the background drainer.
+     */
+    public long getSinkFailures() {
+        return sinkFailures.get();
+    }
+
+    /**
+     * Returns the maximum number of undrained records.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,385 @@
+package com.ghosttech.blackout.arbitration;
+
+import com.ghosttech.blackout.engine.AnomalyCode;
+import com.ghosttech.blackout.engine.AnomalyHandler;
+import com.ghosttech.blackout.engine.BlackoutEngine;
+import com.ghosttech.blackout.engine.BlackoutSession;
+import com.ghosttech.blackout.engine.EngineState;
+import com.ghosttech.blackout.engine.SignatureAlgorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ArbitrationEngine schedules operations onto a BlackoutEngine.
+ *
+ * The concurrency budget is a fixed set of workers, each owning one
+ * engine session. Operations queue by priority and, within a priority,
+ * earliest deadline first.
+ *
+ * Rules enforced:
+ *  - Admission: at most maxQueued operations wait; beyond that, and
+ *    after shutdown, submissions are REJECTED at once.
+ *  - Deadlines: an operation whose deadline passes while queued is
+ *    removed and EXPIRED; it never reaches a session.
+ *  - Interactive latency: with more than one worker, one worker only
+ *    serves INTERACTIVE operations, so bulk signing can never occupy
+ *    the whole budget.
+ *  - A session an operation leaves outside COLD is torn down and
+ *    replaced before the next operation. If another caller took the
+ *    freed slot, the worker retries with backoff until one returns;
+ *    it never dies with the slot.
+ *  - A session whose teardown throws is reported to the engine's
+ *    anomaly reporter as SESSION_TEARDOWN_FAILED; the worker carries on.
+ *
+ * Authoritative reference: Blackout Engine Logic Sheet (Daniel)
+ */
+public class ArbitrationEngine {
+
+    /**
+     * Scheduling class; lower ordinals are served first.
+     */
+    public enum Priority { INTERACTIVE, NORMAL, BULK }
+
+    /**
+     * Work run on an arbitrated session: normally one full
+     * UNLOCK → EXECUTE → ERASE lifecycle.
+     */
+    public interface Operation<T> {
+        T run(BlackoutSession session) throws Exception;
+    }
+
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final long REOPEN_BACKOFF_BASE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long REOPEN_BACKOFF_CAP_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final BlackoutEngine engine;
+    private final AnomalyHandler anomalyHandler;
+    private final int maxQueued;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private final List<PriorityQueue<Request<?>>> queues;
+    private final List<Thread> workers;
+    private final ScheduledExecutorService timer;
+    private int queued;
+    private long nextSequence;
+    private boolean shutdown;
+
+    /**
+     * @param engine      Engine that provides one session per worker.
+     * @param concurrency Number of operations that may hold a session at once.
+     * @param maxQueued   Number of operations that may wait for a session;
+     *                    every operation waits, if only briefly, so at least 1.
+     * @throws IllegalStateException if the engine cannot open that many sessions.
+     */
+    public ArbitrationEngine(BlackoutEngine engine, int concurrency, int maxQueued) {
+        if (concurrency <= 0 || maxQueued <= 0) {
+            throw new IllegalArgumentException("Invalid arbitration budget");
+        }
+        this.engine = engine;
+        this.anomalyHandler = new AnomalyHandler(engine.getAnomalyReporter());
+        this.maxQueued = maxQueued;
+        this.queues = new ArrayList<>(PRIORITIES.length);
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            queues.add(new PriorityQueue<>());
+        }
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Blackout-Arbitration-Timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<BlackoutSession> sessions = new ArrayList<>(concurrency);
+        try {
+            for (int i = 0; i < concurrency; i++) {
+                sessions.add(engine.openSession());
+            }
+        } catch (RuntimeException e) {
+            for (BlackoutSession session : sessions) {
+                close(session);
+            }
+            timer.shutdownNow();
+            throw e;
+        }
+
+        this.workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            // Worker 0 is reserved for INTERACTIVE when there is more than one.
+            Priority lowestServed = (i == 0 && concurrency > 1)
+                    ? Priority.INTERACTIVE
+                    : Priority.BULK;
+            BlackoutSession session = sessions.get(i);
+            Thread worker = new Thread(() -> work(session, lowestServed),
+                    "Blackout-Arbitration-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Queues an operation.
+     *
+     * @param priority  Scheduling class.
+     * @param timeout   Time from now after which the operation must not start.
+     * @param unit      Unit of timeout.
+     * @param operation Work to run on a session.
+     * @return Future completed with the result; never completed exceptionally.
+     */
+    public <T> CompletableFuture<ArbitrationResult<T>> submit(
+            Priority priority, long timeout, TimeUnit unit, Operation<T> operation) {
+        long now = System.nanoTime();
+        Request<T> request = new Request<>(priority, now, now + unit.toNanos(timeout), operation);
+
+        lock.lock();
+        try {
+            if (shutdown) {
+                request.future.complete(ArbitrationResult.rejected("Arbiter shut down"));
+                return request.future;
+            }
+            if (queued >= maxQueued) {
+                request.future.complete(ArbitrationResult.rejected("Arbitration queue full"));
+                return request.future;
+            }
+            if (timeout <= 0) {
+                request.future.complete(ArbitrationResult.expired(0));
+                return request.future;
+            }
+            request.sequence = nextSequence++;
+            queues.get(priority.ordinal()).add(request);
+            queued++;
+            workAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            request.expiry = timer.schedule(() -> expire(request), timeout, unit);
+        } catch (RejectedExecutionException e) {
+            // Shut down concurrently; shutdown() rejected the request.
+        }
+        return request.future;
+    }
+
+    /**
+     * Returns the signature scheme of the engine operations run on.
+     */
+    public SignatureAlgorithm getSignatureAlgorithm() {
+        return engine.getSignatureAlgorithm();
+    }
+
+    /**
+     * Returns the number of operations waiting for a session.
+     */
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rejects queued operations, stops the workers once their current
+     * operation finishes, and closes their sessions.
+     */
+    public void shutdown() {
+        List<Request<?>> abandoned = new ArrayList<>();
+        lock.lock();
+        try {
+            shutdown = true;
+            for (PriorityQueue<Request<?>> queue : queues) {
+                abandoned.addAll(queue);
+                queue.clear();
+            }
+            queued = 0;
+            workAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Request<?> request : abandoned) {
+            request.reject("Arbiter shut down");
+        }
+        timer.shutdownNow();
+    }
+
+    private void work(BlackoutSession initial, Priority lowestServed) {
+        BlackoutSession session = initial;
+        try {
+            while (true) {
+                Request<?> request = take(lowestServed);
+                if (request == null) {
+                    return;
+                }
+                if (request.expiry != null) {
+                    request.expiry.cancel(false);
+                }
+                session = run(request, session);
+                if (session == null) {
+                    // Shut down while waiting for a replacement.
+                    return;
+                }
+            }
+        } finally {
+            if (session != null) {
+                close(session);
+            }
+        }
+    }
+
+    /**
+     * Blocks for the most urgent request this worker serves, or returns
+     * null on shutdown.
+     */
+    private Request<?> take(Priority lowestServed) {
+        lock.lock();
+        try {
+            while (!shutdown) {
+                for (int i = 0; i <= lowestServed.ordinal(); i++) {
+                    Request<?> request = queues.get(i).poll();
+                    if (request != null) {
+                        queued--;
+                        return request;
+                    }
+                }
+                workAvailable.awaitUninterruptibly();
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs one request and returns the session for the next, or null if
+     * the arbiter shut down while the session was being replaced.
+     */
+    private <T> BlackoutSession run(Request<T> request, BlackoutSession session) {
+        long started = System.nanoTime();
+        long queuedNanos = started - request.submittedNanos;
+        if (started - request.deadlineNanos >= 0) {
+            // The expiry timer has not fired yet; do not spend signing time.
+            request.future.complete(ArbitrationResult.expired(queuedNanos));
+            return session;
+        }
+
+        try {
+            T value = request.operation.run(session);
+            request.future.complete(ArbitrationResult.completed(
+                    value, queuedNanos, System.nanoTime() - started));
+        } catch (Exception e) {
+            request.future.complete(ArbitrationResult.failed(
+                    e, queuedNanos, System.nanoTime() - started));
+        }
+
+        if (session.getState() == EngineState.COLD) {
+            return session;
+        }
+        // Left mid-lifecycle or LOCKED: tear down and start clean.
+        close(session);
+        return reopen();
+    }
+
+    /**
+     * Closes a session. A failed teardown is reported as an anomaly and
+     * never escapes, so it cannot end the worker; close() has returned
+     * the session's slot either way.
+     */
+    private void close(BlackoutSession session) {
+        try {
+            session.close();
+        } catch (RuntimeException e) {
+            anomalyHandler.handle(AnomalyCode.SESSION_TEARDOWN_FAILED,
+                    session.getState().ordinal(), AnomalyCode.NONE, session.getId());
+        }
+    }
+
+    /**
+     * Opens a replacement session. The slot just freed may be taken by
+     * another caller first; retry with exponential backoff until a slot
+     * returns. Returns null on shutdown.
+     */
+    private BlackoutSession reopen() {
+        long backoffNanos = REOPEN_BACKOFF_BASE_NANOS;
+        while (true) {
+            try {
+                return engine.openSession();
+            } catch (IllegalStateException e) {
+                // Session limit reached; wait for a slot.
+            }
+            lock.lock();
+            try {
+                if (shutdown) {
+                    return null;
+                }
+                // shutdown() signals, so a stopping arbiter is not held up.
+                workAvailable.awaitNanos(backoffNanos);
+                if (shutdown) {
+                    return null;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } finally {
+                lock.unlock();
+            }
+            backoffNanos = Math.min(backoffNanos * 2, REOPEN_BACKOFF_CAP_NANOS);
+        }
+    }
+
+    private void expire(Request<?> request) {
+        lock.lock();
+        try {
+            if (!queues.get(request.priority.ordinal()).remove(request)) {
+                // Already taken by a worker, or rejected.
+                return;
+            }
+            queued--;
+        } finally {
+            lock.unlock();
+        }
+        request.future.complete(ArbitrationResult.expired(
+                System.nanoTime() - request.submittedNanos));
+    }
+
+    private static final class Request<T> implements Comparable<Request<?>> {
+
+        final Priority priority;
+        final long submittedNanos;
+        final long deadlineNanos;
+        final Operation<T> operation;
+        final CompletableFuture<ArbitrationResult<T>> future = new CompletableFuture<>();
+        long sequence;
+        volatile ScheduledFuture<?> expiry;
+
+        Request(Priority priority, long submittedNanos, long deadlineNanos, Operation<T> operation) {
+            this.priority = priority;
+            this.submittedNanos = submittedNanos;
+            this.deadlineNanos = deadlineNanos;
+            this.operation = operation;
+        }
+
+        void reject(String reason) {
+            future.complete(ArbitrationResult.rejected(reason));
+        }
+
+        @Override
+        public int compareTo(Request<?> other) {
+            // Earliest deadline first; submission order breaks ties.
+            int byDeadline = Long.compare(deadlineNanos - other.deadlineNanos, 0);
+            return byDeadline != 0 ? byDeadline : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.ghosttech.blackout.arbitration;
+
+/**
+ * ArbitrationResult reports how an arbitrated operation ended and where
+ * its time went.
+ *
+ * Outcomes:
+ *  - COMPLETED  The operation ran and returned a value.
+ *  - FAILED     The operation ran and threw; see getError().
+ *  - EXPIRED    The deadline passed before a session was free; the
+ *               operation never ran and spent no signing time.
+ *  - REJECTED   Not admitted: the queue was full or the arbiter was
+ *               shut down.
+ *
+ * Authoritative reference: Blackout Engine Logic Sheet (Daniel)
+ */
+public final class ArbitrationResult<T> {
+
+    public enum Outcome { COMPLETED, FAILED, EXPIRED, REJECTED }
+
+    private final Outcome outcome;
+    private final T value;
+    private final Throwable error;
+    private final long queuedNanos;
+    private final long executionNanos;
+
+    private ArbitrationResult(Outcome outcome, T value, Throwable error,
+                              long queuedNanos, long executionNanos) {
+        this.outcome = outcome;
+        this.value = value;
+        this.error = error;
+        this.queuedNanos = queuedNanos;
+        this.executionNanos = executionNanos;
+    }
+
+    static <T> ArbitrationResult<T> completed(T value, long queuedNanos, long executionNanos) {
+        return new ArbitrationResult<>(Outcome.COMPLETED, value, null, queuedNanos, executionNanos);
+    }
+
+    static <T> ArbitrationResult<T> failed(Throwable error, long queuedNanos, long executionNanos) {
+        return new ArbitrationResult<>(Outcome.FAILED, null, error, queuedNanos, executionNanos);
+    }
+
+    static <T> ArbitrationResult<T> expired(long queuedNanos) {
+        return new ArbitrationResult<>(Outcome.EXPIRED, null, null, queuedNanos, 0);
+    }
+
+    static <T> ArbitrationResult<T> rejected(String reason) {
+        return new ArbitrationResult<>(Outcome.REJECTED, null,
+                new IllegalStateException(reason), 0, 0);
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Indicates whether the operation ran and returned a value.
+     */
+    public boolean isCompleted() {
+        return outcome == Outcome.COMPLETED;
+    }
+
+    /**
+     * Returns the operation's value, or null unless COMPLETED.
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * Returns why the operation FAILED or was REJECTED, or null.
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * Returns the time from submission until a session picked the
+     * operation up, or until it expired.
+     */
+    public long getQueuedNanos() {
+        return queuedNanos;
+    }
+
+    /**
+     * Returns the time the operation held its session; zero if it never ran.
+     */
+    public long getExecutionNanos() {
+        return executionNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ArbitrationResult{" + outcome
+                + ", queued=" + queuedNanos / 1000 + "us"
+                + ", executed=" + executionNanos / 1000 + "us"
+                + (error != null ? ", error=" + error : "")
+                + "}";
+    }
+}
@@ -0,0 +1,124 @@
+package com.ghosttech.blackout.assets;
+
+import android.content.res.AssetManager;
+import android.util.Log;
+import android.webkit.WebResourceResponse;
+
+import androidx.webkit.WebViewAssetLoader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URLConnection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * AssetPathHandler serves the WebView shell's assets through
+ * WebViewAssetLoader, from an AssetCache over the APK's assets.
+ *
+ * Panel switches are answered from memory once an asset has been read.
+ * The build packages text assets only as gzipped .gz variants (see
+ * compressAssets in app/build.gradle); the cache decodes each one once
+ * and responses carry the decoded bytes, since WebView does not decode
+ * intercepted responses. Assets are fixed for the lifetime of an
+ * installed APK, so every response is marked cacheable for a year and
+ * immutable.
+ *
+ * preload() warms the cache for the next panel off the main thread.
+ */
+public class AssetPathHandler implements WebViewAssetLoader.PathHandler {
+
+    private static final String TAG = "Blackout-Assets";
+
+    private static final Map<String, String> RESPONSE_HEADERS =
+            Collections.singletonMap("Cache-Control", "public, max-age=31536000, immutable");
+
+    private static final Map<String, String> MIME_TYPES = new HashMap<>();
+
+    static {
+        MIME_TYPES.put("html", "text/html");
+        MIME_TYPES.put("js", "text/javascript");
+        MIME_TYPES.put("mjs", "text/javascript");
+        MIME_TYPES.put("css", "text/css");
+        MIME_TYPES.put("json", "application/json");
+        MIME_TYPES.put("svg", "image/svg+xml");
+        MIME_TYPES.put("wasm", "application/wasm");
+        MIME_TYPES.put("woff2", "font/woff2");
+    }
+
+    private final AssetCache cache;
+    private final ExecutorService preloader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Blackout-AssetPreload");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    /**
+     * @param assets   The APK's assets.
+     * @param maxBytes Budget for cached assets, decoded.
+     */
+    public AssetPathHandler(AssetManager assets, long maxBytes) {
+        this.cache = new AssetCache(assets::open, maxBytes);
+    }
+
+    /**
+     * Serves an asset; path is relative to the handler's mount point.
+     * Runs on a WebView I/O thread.
+     */
+    @Override
+    public WebResourceResponse handle(String path) {
+        try {
+            byte[] asset = cache.get(path);
+            if (asset != null) {
+                String mimeType = mimeType(path);
+                return new WebResourceResponse(mimeType,
+                        mimeType.startsWith("text/") ? "utf-8" : null,
+                        200, "OK", RESPONSE_HEADERS, new ByteArrayInputStream(asset));
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to read asset: " + path, e);
+        }
+        // Not found: WebView answers with a 404.
+        return new WebResourceResponse(null, null, null);
+    }
+
+    /**
+     * Loads a panel's assets into the cache in the background.
+     */
+    public void preload(List<String> paths) {
+        preloader.execute(() -> {
+            for (String path : paths) {
+                try {
+                    if (!cache.preload(path)) {
+                        Log.w(TAG, "Cannot preload missing asset: " + path);
+                    }
+                } catch (IOException e) {
+                    Log.w(TAG, "Failed to preload asset: " + path, e);
+                }
+            }
+        });
+    }
+
+    public AssetCache getCache() {
+        return cache;
+    }
+
+    public void shutdown() {
+        preloader.shutdownNow();
+    }
+
+    private static String mimeType(String path) {
+        String extension = path.substring(path.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        String mimeType = MIME_TYPES.get(extension);
+        if (mimeType == null) {
+            mimeType = URLConnection.guessContentTypeFromName(path);
+        }
+        return mimeType != null ? mimeType : "application/octet-stream";
+    }
+}
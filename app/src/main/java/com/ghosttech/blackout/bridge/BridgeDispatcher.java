@@ -0,0 +1,112 @@
+package com.ghosttech.blackout.bridge;
+
+import com.ghosttech.blackout.api.PayloadSignature;
+import com.ghosttech.blackout.api.PayloadSigner;
+import com.ghosttech.blackout.router.BlackoutRouter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * BridgeDispatcher answers BridgeFrame requests from the page.
+ *
+ *  - KIND_SIGN    Signs the payload inside the engine, in a lifecycle
+ *                 of its own (see PayloadSigner). The body is
+ *                 u16 key length | X.509 public key | signature.
+ *  - KIND_COMMAND Dispatches through BlackoutRouter; the body is the
+ *                 UTF-8 response.
+ *
+ * Requests run concurrently, up to maxInFlight; onFrame() never blocks
+ * the caller. Requests arriving before bootstrap finishes wait for the
+ * signer or router to become ready. Every request with a readable id
+ * gets exactly one response.
+ *
+ * Has no Android dependencies; WebMessageBridge connects it to a WebView.
+ */
+public class BridgeDispatcher {
+
+    /**
+     * Delivers an encoded response frame to the page. May be called on
+     * any thread.
+     */
+    public interface ResponseSink {
+        void send(byte[] frame);
+    }
+
+    private final CompletableFuture<? extends PayloadSigner> signerReady;
+    private final CompletableFuture<BlackoutRouter> routerReady;
+    private final Semaphore inFlight;
+
+    /**
+     * @param signerReady Completes with the signer once the engine is up.
+     * @param routerReady Completes with the command router.
+     * @param maxInFlight Maximum concurrent requests; further ones get an error.
+     */
+    public BridgeDispatcher(CompletableFuture<? extends PayloadSigner> signerReady,
+                            CompletableFuture<BlackoutRouter> routerReady, int maxInFlight) {
+        this.signerReady = signerReady;
+        this.routerReady = routerReady;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Handles one request frame. Returns at once; the response is sent
+     * to the sink when ready.
+     */
+    public void onFrame(byte[] frame, ResponseSink sink) {
+        BridgeFrame request;
+        try {
+            request = BridgeFrame.decodeRequest(frame);
+        } catch (IllegalArgumentException e) {
+            long id = BridgeFrame.peekId(frame);
+            if (id >= 0) {
+                sink.send(BridgeFrame.error((int) id, e.getMessage()));
+            }
+            return;
+        }
+
+        int id = request.getId();
+        if (!inFlight.tryAcquire()) {
+            sink.send(BridgeFrame.error(id, "Too many requests in flight"));
+            return;
+        }
+
+        CompletableFuture<byte[]> result;
+        if (request.getKind() == BridgeFrame.KIND_SIGN) {
+            result = signerReady.thenCompose(signer -> signer.sign(null, request.getPayload()))
+                    .thenApply(BridgeDispatcher::encodeSignature);
+        } else {
+            result = routerReady
+                    .thenCompose(router -> router.dispatch(request.getEndpoint(), request.getPayload()))
+                    .thenApply(body -> body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        result.whenComplete((body, error) -> {
+            inFlight.release();
+            if (error == null) {
+                sink.send(BridgeFrame.ok(id, body));
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                sink.send(BridgeFrame.error(id, cause.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Encodes a signature with the public key that verifies it.
+     */
+    private static byte[] encodeSignature(PayloadSignature signature) {
+        byte[] key = signature.getPublicKey();
+        byte[] bytes = signature.getSignature();
+        return ByteBuffer.allocate(2 + key.length + bytes.length)
+                .putShort((short) key.length)
+                .put(key)
+                .put(bytes)
+                .array();
+    }
+}
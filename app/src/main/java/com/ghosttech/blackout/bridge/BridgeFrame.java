@@ -0,0 +1,149 @@
+package com.ghosttech.blackout.bridge;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * BridgeFrame is the binary framing for WebView ⇄ engine messages,
+ * carried as ArrayBuffers over a WebMessagePort.
+ *
+ * Request (big-endian):
+ *   u8   version
+ *   u8   kind (KIND_SIGN or KIND_COMMAND)
+ *   u32  request id, chosen by the page
+ *   u16  endpoint length, endpoint UTF-8 bytes (empty for KIND_SIGN)
+ *   ...  payload, to the end of the frame
+ *
+ * Response (big-endian):
+ *   u8   version
+ *   u8   status (STATUS_OK or STATUS_ERROR)
+ *   u32  request id it answers
+ *   ...  body: key and signature (see BridgeDispatcher) or response
+ *        bytes, or a UTF-8 error message
+ *
+ * Responses may arrive in any order; the page matches them by id.
+ */
+public final class BridgeFrame {
+
+    public static final int VERSION = 1;
+
+    public static final int KIND_SIGN = 1;
+    public static final int KIND_COMMAND = 2;
+
+    public static final int STATUS_OK = 0;
+    public static final int STATUS_ERROR = 1;
+
+    private static final int REQUEST_HEADER = 1 + 1 + 4 + 2;
+    private static final int RESPONSE_HEADER = 1 + 1 + 4;
+
+    private final int kind;
+    private final int id;
+    private final String endpoint;
+    private final byte[] payload;
+
+    private BridgeFrame(int kind, int id, String endpoint, byte[] payload) {
+        this.kind = kind;
+        this.id = id;
+        this.endpoint = endpoint;
+        this.payload = payload;
+    }
+
+    /**
+     * Decodes a request frame.
+     *
+     * @throws IllegalArgumentException if the frame is malformed.
+     */
+    public static BridgeFrame decodeRequest(byte[] frame) {
+        if (frame == null || frame.length < REQUEST_HEADER) {
+            throw new IllegalArgumentException("Truncated bridge frame");
+        }
+        ByteBuffer in = ByteBuffer.wrap(frame);
+        int version = in.get() & 0xFF;
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported bridge frame version: " + version);
+        }
+        int kind = in.get() & 0xFF;
+        if (kind != KIND_SIGN && kind != KIND_COMMAND) {
+            throw new IllegalArgumentException("Unknown bridge request kind: " + kind);
+        }
+        int id = in.getInt();
+        int endpointLength = in.getShort() & 0xFFFF;
+        if (endpointLength > in.remaining()) {
+            throw new IllegalArgumentException("Truncated bridge frame");
+        }
+        String endpoint = new String(frame, in.position(), endpointLength, StandardCharsets.UTF_8);
+        in.position(in.position() + endpointLength);
+        byte[] payload = new byte[in.remaining()];
+        in.get(payload);
+        return new BridgeFrame(kind, id, endpoint, payload);
+    }
+
+    /**
+     * Reads the request id from a frame too malformed to decode, so the
+     * error can still be answered. Returns -1 if not even the id is there.
+     */
+    public static long peekId(byte[] frame) {
+        if (frame == null || frame.length < 6) {
+            return -1;
+        }
+        return ByteBuffer.wrap(frame, 2, 4).getInt() & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Encodes a request frame; the page-side counterpart, used by tests.
+     */
+    public static byte[] encodeRequest(int kind, int id, String endpoint, byte[] payload) {
+        byte[] endpointBytes = endpoint.getBytes(StandardCharsets.UTF_8);
+        if (endpointBytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Endpoint too long");
+        }
+        return ByteBuffer.allocate(REQUEST_HEADER + endpointBytes.length + payload.length)
+                .put((byte) VERSION)
+                .put((byte) kind)
+                .putInt(id)
+                .putShort((short) endpointBytes.length)
+                .put(endpointBytes)
+                .put(payload)
+                .array();
+    }
+
+    /**
+     * Encodes a successful response.
+     */
+    public static byte[] ok(int id, byte[] body) {
+        return response(STATUS_OK, id, body);
+    }
+
+    /**
+     * Encodes an error response.
+     */
+    public static byte[] error(int id, String message) {
+        return response(STATUS_ERROR, id,
+                (message != null ? message : "Error").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] response(int status, int id, byte[] body) {
+        return ByteBuffer.allocate(RESPONSE_HEADER + body.length)
+                .put((byte) VERSION)
+                .put((byte) status)
+                .putInt(id)
+                .put(body)
+                .array();
+    }
+
+    public int getKind() {
+        return kind;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+}
@@ -0,0 +1,116 @@
+package com.ghosttech.blackout.bridge;
+
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.webkit.WebView;
+
+import androidx.webkit.WebMessageCompat;
+import androidx.webkit.WebMessagePortCompat;
+import androidx.webkit.WebViewCompat;
+import androidx.webkit.WebViewFeature;
+
+/**
+ * WebMessageBridge carries BridgeFrame messages between the page and
+ * BridgeDispatcher over a dedicated WebMessagePort.
+ *
+ * connect() creates a message channel and transfers one end to the page
+ * in a message whose data is INIT_MESSAGE. Requests and responses then
+ * travel as ArrayBuffers: no JSON or string marshalling, and the page's
+ * JS thread never waits on native code. Call connect() again after each
+ * page load; the previous channel is closed.
+ *
+ * Responses are posted from the main thread, in completion order.
+ */
+public class WebMessageBridge {
+
+    /**
+     * Data of the message that hands the port to the page.
+     */
+    public static final String INIT_MESSAGE = "blackout-bridge";
+
+    private static final String TAG = "Blackout-WebBridge";
+
+    private final WebView webView;
+    private final BridgeDispatcher dispatcher;
+    private final Uri targetOrigin;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private WebMessagePortCompat port;
+
+    /**
+     * @param targetOrigin Origin of the page allowed to receive the port.
+     */
+    public WebMessageBridge(WebView webView, BridgeDispatcher dispatcher, Uri targetOrigin) {
+        this.webView = webView;
+        this.dispatcher = dispatcher;
+        this.targetOrigin = targetOrigin;
+    }
+
+    /**
+     * Indicates whether the installed WebView supports binary message channels.
+     */
+    public static boolean isSupported() {
+        return WebViewFeature.isFeatureSupported(WebViewFeature.CREATE_WEB_MESSAGE_CHANNEL)
+                && WebViewFeature.isFeatureSupported(WebViewFeature.POST_WEB_MESSAGE)
+                && WebViewFeature.isFeatureSupported(WebViewFeature.WEB_MESSAGE_PORT_SET_MESSAGE_CALLBACK)
+                && WebViewFeature.isFeatureSupported(WebViewFeature.WEB_MESSAGE_PORT_POST_MESSAGE)
+                && WebViewFeature.isFeatureSupported(WebViewFeature.WEB_MESSAGE_ARRAY_BUFFER);
+    }
+
+    /**
+     * Opens a new channel to the current page. Main thread only.
+     *
+     * @throws IllegalStateException if the WebView lacks the required features.
+     */
+    public void connect() {
+        if (!isSupported()) {
+            throw new IllegalStateException("WebView does not support binary message ports");
+        }
+        close();
+
+        WebMessagePortCompat[] channel = WebViewCompat.createWebMessageChannel(webView);
+        attach(channel[0]);
+
+        // Not delivered if the WebView has navigated away from targetOrigin.
+        WebViewCompat.postWebMessage(webView,
+                new WebMessageCompat(INIT_MESSAGE, new WebMessagePortCompat[] { channel[1] }),
+                targetOrigin);
+    }
+
+    /**
+     * Answers requests arriving on the native end of a channel. Main thread only.
+     */
+    void attach(WebMessagePortCompat local) {
+        local.setWebMessageCallback(new WebMessagePortCompat.WebMessageCallbackCompat() {
+            @Override
+            public void onMessage(WebMessagePortCompat source, WebMessageCompat message) {
+                if (message == null || message.getType() != WebMessageCompat.TYPE_ARRAY_BUFFER) {
+                    Log.w(TAG, "Ignoring non-binary message");
+                    return;
+                }
+                dispatcher.onFrame(message.getArrayBuffer(), frame -> respond(source, frame));
+            }
+        });
+        port = local;
+    }
+
+    /**
+     * Closes the channel; responses still in flight are discarded. Main thread only.
+     */
+    public void close() {
+        if (port != null) {
+            port.close();
+            port = null;
+        }
+    }
+
+    private void respond(WebMessagePortCompat source, byte[] frame) {
+        mainHandler.post(() -> {
+            // Drop responses for a channel replaced by a reload.
+            if (source == port) {
+                source.postMessage(new WebMessageCompat(frame));
+            }
+        });
+    }
+}
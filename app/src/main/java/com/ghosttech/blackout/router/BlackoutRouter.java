@@ -0,0 +1,131 @@
+package com.ghosttech.blackout.router;
+
+import com.ghosttech.blackout.api.ApiBridge;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * BlackoutRouter dispatches commands either to in-process handlers or,
+ * through ApiBridge, to the GhostTech API.
+ *
+ * The route table is compiled once, at build(), into a RouteTrie. Local
+ * commands run on the calling thread with no network I/O; only routes
+ * declared remote reach the bridge. A command that matches no route is
+ * refused, so nothing leaves the device unless a route says it may.
+ */
+public class BlackoutRouter {
+
+    /**
+     * Answers a command in-process.
+     */
+    public interface LocalHandler {
+        /**
+         * @param payload Raw command data.
+         * @return Response body, in the same form the API would return.
+         */
+        String handle(byte[] payload) throws Exception;
+    }
+
+    // Marker target for routes forwarded to the bridge.
+    private static final LocalHandler REMOTE = payload -> {
+        throw new IllegalStateException("Remote route");
+    };
+
+    private final RouteTrie<LocalHandler> routes;
+    private final ApiBridge bridge;
+
+    private BlackoutRouter(RouteTrie<LocalHandler> routes, ApiBridge bridge) {
+        this.routes = routes;
+        this.bridge = bridge;
+    }
+
+    /**
+     * @param bridge Bridge for remote routes; may be null if there are none.
+     */
+    public static Builder builder(ApiBridge bridge) {
+        return new Builder(bridge);
+    }
+
+    /**
+     * Dispatches a command by endpoint.
+     *
+     * @param endpoint Route, e.g. "/wallet/balance".
+     * @param payload  Raw command data.
+     * @return Future with the response body. Local handlers complete it
+     *         before this returns; failures complete it exceptionally.
+     */
+    public CompletableFuture<String> dispatch(String endpoint, byte[] payload) {
+        LocalHandler handler = routes.lookup(endpoint);
+        if (handler == REMOTE) {
+            return bridge.sendAsync(endpoint, payload);
+        }
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        if (handler == null) {
+            future.completeExceptionally(
+                    new IllegalArgumentException("No route for endpoint: " + endpoint));
+            return future;
+        }
+        try {
+            future.complete(handler.handle(payload));
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Indicates whether an endpoint is answered in-process.
+     */
+    public boolean isLocal(String endpoint) {
+        LocalHandler handler = routes.lookup(endpoint);
+        return handler != null && handler != REMOTE;
+    }
+
+    /**
+     * Declares routes, then compiles them with build().
+     */
+    public static final class Builder {
+
+        private final ApiBridge bridge;
+        private final RouteTrie.Builder<LocalHandler> routes = RouteTrie.builder();
+        private boolean hasRemote;
+
+        private Builder(ApiBridge bridge) {
+            this.bridge = bridge;
+        }
+
+        /**
+         * Answers this exact endpoint in-process.
+         */
+        public Builder local(String endpoint, LocalHandler handler) {
+            routes.exact(endpoint, handler);
+            return this;
+        }
+
+        /**
+         * Forwards this exact endpoint to the API.
+         */
+        public Builder remote(String endpoint) {
+            routes.exact(endpoint, REMOTE);
+            hasRemote = true;
+            return this;
+        }
+
+        /**
+         * Forwards this endpoint and every endpoint below it to the API.
+         */
+        public Builder remotePrefix(String prefix) {
+            routes.prefix(prefix, REMOTE);
+            hasRemote = true;
+            return this;
+        }
+
+        public BlackoutRouter build() {
+            if (hasRemote && bridge == null) {
+                throw new IllegalStateException("Remote routes need an ApiBridge");
+            }
+            return new BlackoutRouter(routes.build(), bridge);
+        }
+    }
+}
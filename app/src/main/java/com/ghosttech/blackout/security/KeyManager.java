@@ -0,0 +1,146 @@
+package com.ghosttech.blackout.security;
+
+import com.ghosttech.blackout.engine.SignatureAlgorithm;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * KeyManager provisions ephemeral keypairs for BlackoutEngine.unlock().
+ *
+ * A small, bounded pool of keypairs is generated ahead of time on a
+ * background thread, so unlock() does not wait on key generation.
+ *
+ * Rules enforced:
+ *  - Every keypair is handed out exactly once.
+ *  - The pool never holds more than its capacity.
+ *  - pause() drops every pooled keypair and stops generation; call it
+ *    when the app leaves the foreground.
+ *  - shutdown() drops every pooled keypair and stops the worker for good.
+ *
+ * Authoritative reference: Blackout Engine Logic Sheet (Daniel)
+ */
+public class KeyManager {
+
+    private final SignatureAlgorithm algorithm;
+    private final ArrayBlockingQueue<KeyPair> pool;
+    private final ExecutorService worker;
+    private final AtomicBoolean refilling;
+    private volatile boolean running;
+    private volatile boolean shutdown;
+
+    /**
+     * @param algorithm Scheme the keypairs are generated for.
+     * @param capacity  Maximum number of keypairs held ready.
+     */
+    public KeyManager(SignatureAlgorithm algorithm, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Pool capacity must be positive");
+        }
+        this.algorithm = algorithm;
+        this.pool = new ArrayBlockingQueue<>(capacity);
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Blackout-KeyManager");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        this.refilling = new AtomicBoolean(false);
+        this.running = false;
+        this.shutdown = false;
+    }
+
+    /**
+     * Starts, or restarts after pause(), background pre-generation.
+     * Call when the app enters the foreground.
+     */
+    public void resume() {
+        if (shutdown) {
+            throw new IllegalStateException("KeyManager shut down");
+        }
+        running = true;
+        scheduleRefill();
+    }
+
+    /**
+     * Stops pre-generation and drops every pooled keypair.
+     * Call when the app leaves the foreground.
+     */
+    public void pause() {
+        running = false;
+        pool.clear();
+    }
+
+    /**
+     * Stops the worker and drops every pooled keypair. The manager cannot
+     * be resumed afterwards.
+     */
+    public void shutdown() {
+        shutdown = true;
+        pause();
+        worker.shutdownNow();
+    }
+
+    /**
+     * Hands out a single-use keypair. Returns a pooled keypair without
+     * waiting when one is ready; otherwise generates one on the calling
+     * thread.
+     *
+     * @return A keypair that no other caller will receive.
+     */
+    public KeyPair acquire() throws GeneralSecurityException {
+        if (shutdown) {
+            throw new IllegalStateException("KeyManager shut down");
+        }
+        KeyPair pair = pool.poll();
+        scheduleRefill();
+        return pair != null ? pair : algorithm.newKeyPairGenerator().generateKeyPair();
+    }
+
+    /**
+     * Returns the number of keypairs ready now.
+     */
+    public int available() {
+        return pool.size();
+    }
+
+    private void scheduleRefill() {
+        if (!running || !refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            worker.execute(this::refill);
+        } catch (RejectedExecutionException e) {
+            // Shut down concurrently.
+            refilling.set(false);
+        }
+    }
+
+    private void refill() {
+        try {
+            KeyPairGenerator generator = algorithm.newKeyPairGenerator();
+            while (running && pool.remainingCapacity() > 0) {
+                if (!pool.offer(generator.generateKeyPair())) {
+                    break;
+                }
+                // A pause() during generation must not leave a key behind.
+                if (!running) {
+                    pool.clear();
+                }
+            }
+        } catch (GeneralSecurityException e) {
+            // Pre-generation is an optimization; acquire() generates inline.
+            return;
+        } finally {
+            refilling.set(false);
+        }
+        if (running && pool.remainingCapacity() > 0) {
+            scheduleRefill();
+        }
+    }
+}
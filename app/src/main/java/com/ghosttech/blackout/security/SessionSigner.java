@@ -0,0 +1,99 @@
+package com.ghosttech.blackout.security;
+
+import com.ghosttech.blackout.api.PayloadSignature;
+import com.ghosttech.blackout.api.PayloadSigner;
+import com.ghosttech.blackout.arbitration.ArbitrationEngine;
+import com.ghosttech.blackout.arbitration.ArbitrationResult;
+import com.ghosttech.blackout.engine.BlackoutSession;
+import com.ghosttech.blackout.engine.SignatureAlgorithm;
+
+import java.security.KeyPair;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * SessionSigner signs each payload in a lifecycle of its own:
+ * unlock(fresh ephemeral key) → execute → erase, scheduled through an
+ * ArbitrationEngine at a fixed priority and deadline.
+ *
+ * The arbiter's workers own the engine sessions. Each signature starts
+ * on a COLD session and leaves it COLD; a session left mid-lifecycle
+ * by a failure is torn down and replaced before the next signature.
+ *
+ * Rules enforced:
+ *  - One keypair per signature; it is handed out once by KeyManager
+ *    and destroyed with the session's ERASE.
+ *  - No key outlives the request it signed; only its public half is
+ *    returned, with the signature it verifies.
+ *  - A signature whose deadline passes while queued is never made.
+ *
+ * Authoritative reference: Blackout Engine Logic Sheet (Daniel)
+ */
+public class SessionSigner implements PayloadSigner {
+
+    private final ArbitrationEngine arbiter;
+    private final KeyManager keyManager;
+    private final ArbitrationEngine.Priority priority;
+    private final long timeoutNanos;
+
+    /**
+     * @param arbiter    Schedules signatures onto engine sessions.
+     * @param keyManager Source of the per-signature ephemeral keypairs.
+     * @param priority   Scheduling class of every signature.
+     * @param timeout    Longest a signature may wait for a session.
+     * @param unit       Unit of timeout.
+     */
+    public SessionSigner(ArbitrationEngine arbiter, KeyManager keyManager,
+                         ArbitrationEngine.Priority priority, long timeout, TimeUnit unit) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("Signing timeout must be positive");
+        }
+        this.arbiter = arbiter;
+        this.keyManager = keyManager;
+        this.priority = priority;
+        this.timeoutNanos = unit.toNanos(timeout);
+    }
+
+    @Override
+    public SignatureAlgorithm getSignatureAlgorithm() {
+        return arbiter.getSignatureAlgorithm();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Fails with TimeoutException if no session was free before the
+     * deadline, and with IllegalStateException if the arbiter rejected
+     * the signature.
+     */
+    @Override
+    public CompletableFuture<PayloadSignature> sign(byte[] header, byte[] payload) {
+        return arbiter.<PayloadSignature>submit(priority, timeoutNanos, TimeUnit.NANOSECONDS,
+                        session -> signInSession(session, header, payload))
+                .thenApply(SessionSigner::signatureOf);
+    }
+
+    private PayloadSignature signInSession(BlackoutSession session, byte[] header,
+                                           byte[] payload) throws Exception {
+        // Taken only once a session is free, so an expired request costs no key.
+        KeyPair pair = keyManager.acquire();
+        session.unlock(pair.getPrivate());
+        byte[] signature = session.executeNext(header, payload);
+        session.erase();
+        return new PayloadSignature(pair.getPublic().getEncoded(), signature);
+    }
+
+    private static PayloadSignature signatureOf(ArbitrationResult<PayloadSignature> result) {
+        switch (result.getOutcome()) {
+            case COMPLETED:
+                return result.getValue();
+            case EXPIRED:
+                throw new CompletionException(
+                        new TimeoutException("No session free before the signing deadline"));
+            default:
+                throw new CompletionException(result.getError());
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.ghosttech.blackout.api;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.ghosttech.blackout.engine.SignatureAlgorithm;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class ApiBridgeTest {
+
+    private static final byte[] PAYLOAD = "hello".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] KEY = {9, 9};
+    private static final byte[] SIGNATURE = {1, 2, 3, 4};
+    private static final PayloadSignature SIGNED = new PayloadSignature(KEY, SIGNATURE);
+    private static final String OK = "{\"status\":\"ok\",\"n\":1}";
+
+    private MockWebServer server;
+    private FakeSigner signer;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        signer = new FakeSigner();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void postsTheSignedEnvelopeAndReturnsTheBody() throws Exception {
+        server.enqueue(new MockResponse().setBody(OK));
+        ApiBridge bridge = new ApiBridge(server.url("/").toString(), signer);
+
+        assertEquals(OK, bridge.sendAsync("/command", PAYLOAD).get(5, TimeUnit.SECONDS));
+
+        RecordedRequest recorded = server.takeRequest();
+        assertEquals("POST", recorded.getMethod());
+        assertEquals("/command", recorded.getPath());
+        byte[] envelope = recorded.getBody().readByteArray();
+        assertEquals(SignedEnvelope.VERSION, envelope[0]);
+        assertEquals(SignatureAlgorithm.RSA_SHA256.getWireId(), envelope[1]);
+        // header (24) | payload | u16 key length | key | u16 signature length | signature
+        assertArrayEquals(PAYLOAD, Arrays.copyOfRange(envelope, 24, 24 + PAYLOAD.length));
+        int keyAt = 24 + PAYLOAD.length + 2;
+        assertArrayEquals(KEY, Arrays.copyOfRange(envelope, keyAt, keyAt + KEY.length));
+        assertArrayEquals(SIGNATURE,
+                Arrays.copyOfRange(envelope, envelope.length - SIGNATURE.length, envelope.length));
+        assertEquals(1, signer.calls.get());
+    }
+
+    @Test
+    public void fullBridgeRejectsWithoutSigning() {
+        signer.pending = new CompletableFuture<>();
+        ApiBridge bridge = new ApiBridge(server.url("/").toString(), signer, 1);
+
+        bridge.sendAsync("/command", PAYLOAD);
+        CompletableFuture<String> rejected = bridge.sendAsync("/command", PAYLOAD);
+
+        ExecutionException e = assertThrows(ExecutionException.class, rejected::get);
+        assertSame(RejectedExecutionException.class, e.getCause().getClass());
+        assertEquals(1, signer.calls.get());
+    }
+
+    @Test
+    public void cancellingWhileSigningReleasesTheSlotAndSendsNothing() throws Exception {
+        CompletableFuture<PayloadSignature> signing = new CompletableFuture<>();
+        signer.pending = signing;
+        ApiBridge bridge = new ApiBridge(server.url("/").toString(), signer, 1);
+
+        bridge.sendAsync("/command", PAYLOAD).cancel(false);
+        signing.complete(SIGNED);
+
+        signer.pending = null;
+        server.enqueue(new MockResponse().setBody(OK));
+        assertEquals(OK, bridge.sendAsync("/command", PAYLOAD).get(5, TimeUnit.SECONDS));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void cancelledRequestHoldsItsSlotUntilSigningFinishes() throws Exception {
+        CompletableFuture<PayloadSignature> signing = new CompletableFuture<>();
+        signer.pending = signing;
+        ApiBridge bridge = new ApiBridge(server.url("/").toString(), signer, 1);
+
+        bridge.sendAsync("/command", PAYLOAD).cancel(false);
+        signer.pending = null;
+
+        // The signing session is still running: no second one may start.
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> bridge.sendAsync("/command", PAYLOAD).get(5, TimeUnit.SECONDS));
+        assertSame(RejectedExecutionException.class, e.getCause().getClass());
+        assertEquals(1, signer.calls.get());
+
+        signing.complete(SIGNED);
+        server.enqueue(new MockResponse().setBody(OK));
+        assertEquals(OK, bridge.sendAsync("/command", PAYLOAD).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void clientErrorFailsWithoutRetry() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(400));
+        server.enqueue(new MockResponse().setBody(OK));
+        ApiBridge bridge = new ApiBridge(server.url("/").toString(), signer);
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> bridge.sendAsync("/command", PAYLOAD).get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IOException);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void nonOkStatusFailsValidation() {
+        server.enqueue(new MockResponse().setBody("{\"status\":\"denied\"}"));
+        ApiBridge bridge = new ApiBridge(server.url("/").toString(), signer);
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> bridge.sendAsync("/command", PAYLOAD).get(5, TimeUnit.SECONDS));
+        assertSame(InvalidResponseException.class, e.getCause().getClass());
+    }
+
+    @Test
+    public void serverErrorIsRetriedWithTheSameSignature() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setBody(OK));
+        ApiBridge bridge = new ApiBridge(server.url("/").toString(), signer);
+        bridge.coalesce("/explorer");
+
+        assertEquals(OK, bridge.sendAsync("/explorer/blocks", PAYLOAD).get(5, TimeUnit.SECONDS));
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, signer.calls.get());
+    }
+
+    @Test
+    public void nonIdempotentEndpointIsSentOnce() {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setBody(OK));
+        ApiBridge bridge = new ApiBridge(server.url("/").toString(), signer);
+
+        assertThrows(ExecutionException.class,
+                () -> bridge.sendAsync("/command", PAYLOAD).get(5, TimeUnit.SECONDS));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void callsFailAtTheConfiguredDeadline() {
+        server.enqueue(new MockResponse().setBody(OK).setHeadersDelay(2, TimeUnit.SECONDS));
+        ApiBridge bridge = new ApiBridge(server.url("/").toString(), signer);
+        bridge.setDeadline(100, TimeUnit.MILLISECONDS);
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> bridge.sendAsync("/command", PAYLOAD).get(1, TimeUnit.SECONDS));
+        assertSame(InterruptedIOException.class, e.getCause().getClass());
+    }
+
+    @Test
+    public void closeFailsRequestsInFlightAndLaterSends() {
+        CompletableFuture<PayloadSignature> signing = new CompletableFuture<>();
+        signer.pending = signing;
+        ApiBridge bridge = new ApiBridge(server.url("/").toString(), signer, 1);
+        CompletableFuture<String> inFlight = bridge.sendAsync("/command", PAYLOAD);
+
+        bridge.close();
+        signing.complete(SIGNED);
+
+        ExecutionException e = assertThrows(ExecutionException.class, inFlight::get);
+        assertSame(IllegalStateException.class, e.getCause().getClass());
+        e = assertThrows(ExecutionException.class, bridge.sendAsync("/command", PAYLOAD)::get);
+        assertSame(IllegalStateException.class, e.getCause().getClass());
+        assertEquals(0, server.getRequestCount());
+    }
+
+    /**
+     * Returns a fixed signature, or the pending future while one is set.
+     */
+    private static final class FakeSigner implements PayloadSigner {
+
+        final AtomicInteger calls = new AtomicInteger();
+        volatile CompletableFuture<PayloadSignature> pending;
+
+        @Override
+        public SignatureAlgorithm getSignatureAlgorithm() {
+            return SignatureAlgorithm.RSA_SHA256;
+        }
+
+        @Override
+        public CompletableFuture<PayloadSignature> sign(byte[] header, byte[] payload) {
+            calls.incrementAndGet();
+            CompletableFuture<PayloadSignature> held = pending;
+            return held != null ? held : CompletableFuture.completedFuture(SIGNED);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.ghosttech.blackout.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.ghosttech.blackout.engine.SignatureAlgorithm;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class CommandBatcherTest {
+
+    private MockWebServer server;
+    private ApiBridge bridge;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        bridge = new ApiBridge(server.url("/").toString(), new FixedSigner());
+        // A long window: every batch here is flushed by its size.
+        bridge.batch("/explorer", "/batch", 3, TimeUnit.MINUTES.toMillis(1));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        bridge.close();
+        server.shutdown();
+    }
+
+    @Test
+    public void resultsAreSplitBackByPosition() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"status\":\"ok\",\"results\":["
+                + "{\"status\":\"ok\",\"n\":0},"
+                + "{\"status\":\"ok\",\"n\":1},"
+                + "{\"status\":\"ok\",\"n\":2}]}"));
+
+        CompletableFuture<String> first = bridge.sendAsync("/explorer/blocks", bytes("a"));
+        CompletableFuture<String> second = bridge.sendAsync("/explorer/txs", bytes("b"));
+        CompletableFuture<String> third = bridge.sendAsync("/explorer/blocks", bytes("c"));
+
+        assertEquals(0, new JSONObject(first.get(5, TimeUnit.SECONDS)).getInt("n"));
+        assertEquals(1, new JSONObject(second.get(5, TimeUnit.SECONDS)).getInt("n"));
+        assertEquals(2, new JSONObject(third.get(5, TimeUnit.SECONDS)).getInt("n"));
+        assertEquals(1, server.getRequestCount());
+        assertEquals("/batch", server.takeRequest().getPath());
+    }
+
+    @Test
+    public void commandsAreLengthPrefixedInOneEnvelope() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"status\":\"ok\",\"results\":["
+                + "{\"status\":\"ok\"},{\"status\":\"ok\"},{\"status\":\"ok\"}]}"));
+
+        bridge.sendAsync("/explorer/a", bytes("one"));
+        bridge.sendAsync("/explorer/bb", new byte[0]);
+        bridge.sendAsync("/explorer/a", bytes("three")).get(5, TimeUnit.SECONDS);
+
+        // SignedEnvelope: 20-byte prefix, u32 payload length, payload, key, signature.
+        ByteBuffer envelope = ByteBuffer.wrap(server.takeRequest().getBody().readByteArray());
+        envelope.position(20);
+        byte[] payload = new byte[envelope.getInt()];
+        envelope.get(payload);
+
+        ByteBuffer batch = ByteBuffer.wrap(payload);
+        assertEquals(CommandBatcher.BATCH_VERSION, batch.get());
+        assertEquals(3, batch.getShort());
+        assertCommand(batch, "/explorer/a", "one");
+        assertCommand(batch, "/explorer/bb", "");
+        assertCommand(batch, "/explorer/a", "three");
+        assertFalse(batch.hasRemaining());
+    }
+
+    @Test
+    public void failedResultFailsOnlyItsCommand() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"status\":\"ok\",\"results\":["
+                + "{\"status\":\"ok\",\"n\":0},"
+                + "{\"status\":\"error\"},"
+                + "{\"status\":\"ok\",\"n\":2}]}"));
+
+        CompletableFuture<String> first = bridge.sendAsync("/explorer/a", bytes("a"));
+        CompletableFuture<String> second = bridge.sendAsync("/explorer/b", bytes("b"));
+        CompletableFuture<String> third = bridge.sendAsync("/explorer/c", bytes("c"));
+
+        assertEquals(0, new JSONObject(first.get(5, TimeUnit.SECONDS)).getInt("n"));
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> second.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IOException);
+        assertEquals(2, new JSONObject(third.get(5, TimeUnit.SECONDS)).getInt("n"));
+    }
+
+    @Test
+    public void resultCountMismatchFailsTheWholeBatch() {
+        server.enqueue(new MockResponse().setBody(
+                "{\"status\":\"ok\",\"results\":[{\"status\":\"ok\"}]}"));
+
+        CompletableFuture<String> first = bridge.sendAsync("/explorer/a", bytes("a"));
+        CompletableFuture<String> second = bridge.sendAsync("/explorer/b", bytes("b"));
+        CompletableFuture<String> third = bridge.sendAsync("/explorer/c", bytes("c"));
+
+        for (CompletableFuture<String> future : Arrays.asList(first, second, third)) {
+            assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void closingTheBridgeFailsQueuedCommands() {
+        CompletableFuture<String> queued = bridge.sendAsync("/explorer/a", bytes("a"));
+
+        bridge.close();
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> queued.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+        assertEquals(0, server.getRequestCount());
+    }
+
+    @Test
+    public void batchEndpointCannotBeBatched() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bridge.batch("/wallet", "/wallet/batch", 4, 10));
+    }
+
+    private static void assertCommand(ByteBuffer batch, String endpoint, String payload) {
+        byte[] endpointBytes = new byte[batch.getShort() & 0xFFFF];
+        batch.get(endpointBytes);
+        byte[] payloadBytes = new byte[batch.getInt()];
+        batch.get(payloadBytes);
+        assertEquals(endpoint, new String(endpointBytes, StandardCharsets.UTF_8));
+        assertEquals(payload, new String(payloadBytes, StandardCharsets.UTF_8));
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class FixedSigner implements PayloadSigner {
+
+        @Override
+        public SignatureAlgorithm getSignatureAlgorithm() {
+            return SignatureAlgorithm.RSA_SHA256;
+        }
+
+        @Override
+        public CompletableFuture<PayloadSignature> sign(byte[] header, byte[] payload) {
+            return CompletableFuture.completedFuture(
+                    new PayloadSignature(new byte[] {2}, new byte[] {1}));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.ghosttech.blackout.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EndpointHealthTest {
+
+    private static final long OPEN_MILLIS = 50;
+
+    private EndpointHealth health;
+
+    @Before
+    public void setUp() {
+        health = new EndpointHealth(TimeUnit.MILLISECONDS.toNanos(OPEN_MILLIS));
+    }
+
+    @Test
+    public void consecutiveFailuresOpenTheCircuit() {
+        for (int i = 0; i < 4; i++) {
+            health.recordFailure();
+        }
+        assertTrue(health.allowRequest());
+
+        health.recordFailure();
+        assertFalse(health.allowRequest());
+    }
+
+    @Test
+    public void successfulProbeClosesTheCircuit() throws InterruptedException {
+        openAndWaitForProbe();
+
+        health.recordSuccess(1000);
+
+        assertTrue(health.allowRequest());
+        assertTrue(health.allowRequest());
+    }
+
+    @Test
+    public void failedProbeReopensTheCircuit() throws InterruptedException {
+        openAndWaitForProbe();
+
+        health.recordFailure();
+
+        assertFalse(health.allowRequest());
+    }
+
+    @Test
+    public void refusedProbeClosesTheCircuit() throws InterruptedException {
+        openAndWaitForProbe();
+
+        // A 4xx answer: the endpoint is up.
+        health.recordRefusal();
+
+        assertTrue(health.allowRequest());
+        assertTrue(health.allowRequest());
+    }
+
+    @Test
+    public void peekingLeavesTheProbeForTheCall() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            health.recordFailure();
+        }
+        assertFalse(health.mayAllowRequest());
+        Thread.sleep(OPEN_MILLIS + 10);
+
+        assertTrue(health.mayAllowRequest());
+        assertTrue(health.mayAllowRequest());
+        assertTrue(health.allowRequest());
+        assertFalse(health.mayAllowRequest());
+    }
+
+    @Test
+    public void hedgingWaitsForEnoughSamples() {
+        for (int i = 1; i <= 15; i++) {
+            health.recordSuccess(i);
+        }
+        assertEquals(-1, health.hedgeDelayNanos());
+
+        health.recordSuccess(16);
+        assertEquals(16, health.hedgeDelayNanos());
+    }
+
+    /**
+     * Opens the circuit, lets the cool-down pass and takes the one probe.
+     */
+    private void openAndWaitForProbe() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            health.recordFailure();
+        }
+        assertFalse(health.allowRequest());
+        Thread.sleep(OPEN_MILLIS + 10);
+        assertTrue(health.allowRequest());
+        assertFalse(health.allowRequest());
+    }
+}
@@ -0,0 +1,134 @@
+package com.ghosttech.blackout.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResponseCacheTest {
+
+    private static final int SEGMENT_BYTES = 4096;
+
+    private File file;
+    private ResponseCache cache;
+    private ResponseCache.Policy policy;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("responses", ".seg");
+        cache = open();
+        policy = cache.policyFor("/explorer/blocks");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        cache.close();
+        file.delete();
+    }
+
+    @Test
+    public void onlyNonSensitiveEndpointsHaveAPolicy() {
+        assertNotNull(policy);
+        assertNull(cache.policyFor("/command"));
+    }
+
+    @Test
+    public void entriesSurviveReopen() throws IOException {
+        cache.put("a", "{\"n\":1}");
+        cache.put("b", "{\"n\":2}");
+
+        reopen();
+
+        assertEquals(2, cache.size());
+        assertEquals("{\"n\":1}", cache.get("a", policy).getBody());
+        assertEquals("{\"n\":2}", cache.get("b", policy).getBody());
+    }
+
+    @Test
+    public void invalidatedEntryStaysGoneAfterReopen() throws IOException {
+        cache.put("a", "{\"n\":1}");
+        cache.put("b", "{\"n\":2}");
+        cache.invalidate("a");
+
+        reopen();
+
+        assertNull(cache.get("a", policy));
+        assertEquals("{\"n\":2}", cache.get("b", policy).getBody());
+    }
+
+    @Test
+    public void replacedEntryRecoversLatestBody() throws IOException {
+        cache.put("a", "{\"n\":1}");
+        cache.put("a", "{\"n\":2}");
+        cache.invalidate("a");
+        cache.put("a", "{\"n\":3}");
+
+        reopen();
+
+        assertEquals(1, cache.size());
+        assertEquals("{\"n\":3}", cache.get("a", policy).getBody());
+    }
+
+    @Test
+    public void evictedEntryStaysGoneAfterReopen() throws IOException {
+        String body = repeat('x', SEGMENT_BYTES / 3);
+        cache.put("a", body);
+        cache.put("b", body);
+        // No room for a third: the least recently used entry is evicted.
+        cache.put("c", body);
+        assertNull(cache.get("a", policy));
+
+        reopen();
+
+        assertNull(cache.get("a", policy));
+        assertEquals(body, cache.get("b", policy).getBody());
+        assertEquals(body, cache.get("c", policy).getBody());
+    }
+
+    @Test
+    public void compactionKeepsLiveEntriesAcrossReopen() throws IOException {
+        String body = repeat('y', SEGMENT_BYTES / 5);
+        cache.put("keep", body);
+        for (int i = 0; i < 20; i++) {
+            // Rewriting one key leaves dead records that force compaction.
+            cache.put("churn", body + i);
+        }
+
+        assertEquals(body, cache.get("keep", policy).getBody());
+        assertEquals(body + 19, cache.get("churn", policy).getBody());
+        assertFalse(new File(file.getPath() + ".compact").exists());
+
+        reopen();
+
+        assertEquals(2, cache.size());
+        assertEquals(body, cache.get("keep", policy).getBody());
+        assertEquals(body + 19, cache.get("churn", policy).getBody());
+    }
+
+    private ResponseCache open() throws IOException {
+        return new ResponseCache.Builder(file)
+                .maxBytes(SEGMENT_BYTES)
+                .nonSensitive("/explorer", 1, 1, TimeUnit.HOURS)
+                .build();
+    }
+
+    private void reopen() throws IOException {
+        cache.close();
+        cache = open();
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder builder = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+}
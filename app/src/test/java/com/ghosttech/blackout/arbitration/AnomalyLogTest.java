@@ -0,0 +1,159 @@
+package com.ghosttech.blackout.arbitration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.ghosttech.blackout.engine.AnomalyCode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class AnomalyLogTest {
+
+    @Test
+    public void capacityRoundsUpToPowerOfTwo() {
+        assertEquals(1, new AnomalyLog(1).capacity());
+        assertEquals(8, new AnomalyLog(5).capacity());
+        assertEquals(8, new AnomalyLog(8).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new AnomalyLog(0));
+    }
+
+    @Test
+    public void recordsDrainOldestFirst() {
+        AnomalyLog log = new AnomalyLog(4);
+        log.report(AnomalyCode.ILLEGAL_STATE_TRANSITION, 0, 2, 100, 1);
+        log.report(AnomalyCode.LIFECYCLE_NOT_STARTED, AnomalyCode.NONE, 1, 200, 2);
+
+        CollectingSink sink = new CollectingSink();
+        assertEquals(2, log.drainTo(sink));
+
+        assertEquals(2, sink.codes.size());
+        assertSame(AnomalyCode.ILLEGAL_STATE_TRANSITION, sink.codes.get(0));
+        assertSame(AnomalyCode.LIFECYCLE_NOT_STARTED, sink.codes.get(1));
+        assertEquals(Long.valueOf(1), sink.sessions.get(0));
+        assertEquals(Long.valueOf(2), sink.sessions.get(1));
+        assertEquals(0, log.drainTo(sink));
+    }
+
+    @Test
+    public void fullRingDropsNewestAndKeepsOldest() {
+        AnomalyLog log = new AnomalyLog(2);
+        log.report(AnomalyCode.ILLEGAL_STATE_TRANSITION, 0, 1, 0, 1);
+        log.report(AnomalyCode.ILLEGAL_STATE_TRANSITION, 0, 1, 0, 2);
+        log.report(AnomalyCode.ILLEGAL_STATE_TRANSITION, 0, 1, 0, 3);
+
+        CollectingSink sink = new CollectingSink();
+        log.drainTo(sink);
+
+        assertEquals(1, log.getDropped());
+        assertEquals(2, sink.sessions.size());
+        assertEquals(Long.valueOf(1), sink.sessions.get(0));
+        assertEquals(Long.valueOf(2), sink.sessions.get(1));
+    }
+
+    @Test
+    public void drainedSlotsAreReused() {
+        AnomalyLog log = new AnomalyLog(2);
+        CollectingSink sink = new CollectingSink();
+        for (long session = 0; session < 10; session++) {
+            log.report(AnomalyCode.ILLEGAL_PHASE_TRANSITION, 0, 2, 0, session);
+            assertEquals(1, log.drainTo(sink));
+        }
+
+        assertEquals(0, log.getDropped());
+        assertEquals(10, sink.sessions.size());
+        assertEquals(Long.valueOf(9), sink.sessions.get(9));
+    }
+
+    @Test
+    public void concurrentProducersLoseNothingThatFits() throws Exception {
+        int threads = 4;
+        int perThread = 256;
+        AnomalyLog log = new AnomalyLog(threads * perThread);
+        CyclicBarrier start = new CyclicBarrier(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            long session = t;
+            new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        log.report(AnomalyCode.CONCURRENT_STATE_TRANSITION, 1, 0, i, session);
+                    }
+                } catch (Exception e) {
+                    throw new AssertionError(e);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        CollectingSink sink = new CollectingSink();
+        assertEquals(threads * perThread, log.drainTo(sink));
+        assertEquals(0, log.getDropped());
+        long[] perSession = new long[threads];
+        for (Long session : sink.sessions) {
+            perSession[session.intValue()]++;
+        }
+        for (long count : perSession) {
+            assertEquals(perThread, count);
+        }
+    }
+
+    @Test
+    public void backgroundDrainerSurvivesAFailingSink() throws Exception {
+        AnomalyLog log = new AnomalyLog(8);
+        CountDownLatch delivered = new CountDownLatch(2);
+        boolean[] thrown = {false};
+        log.start((code, from, to, timestamp, session) -> {
+            delivered.countDown();
+            if (!thrown[0]) {
+                thrown[0] = true;
+                throw new IllegalStateException("Sink failure");
+            }
+        }, 5);
+        assertThrows(IllegalStateException.class,
+                () -> log.start(new CollectingSink(), 5));
+
+        // The first record is lost with the failing call; the second still
+        // arrives on a later drain.
+        log.report(AnomalyCode.ILLEGAL_STATE_TRANSITION, 0, 2, 0, 1);
+        log.report(AnomalyCode.ILLEGAL_STATE_TRANSITION, 0, 2, 0, 2);
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(1, log.getSinkFailures());
+        log.stop(new CollectingSink());
+    }
+
+    @Test
+    public void stopDrainsWhatIsLeft() {
+        AnomalyLog log = new AnomalyLog(4);
+        log.start(new CollectingSink(), TimeUnit.MINUTES.toMillis(1));
+        log.report(AnomalyCode.ILLEGAL_STATE_TRANSITION, 0, 2, 0, 1);
+
+        CollectingSink sink = new CollectingSink();
+        log.stop(sink);
+
+        assertEquals(1, sink.sessions.size());
+    }
+
+    private static final class CollectingSink implements AnomalyLog.RecordSink {
+
+        final List<AnomalyCode> codes = new ArrayList<>();
+        final List<Long> sessions = new ArrayList<>();
+
+        @Override
+        public void accept(AnomalyCode code, int from, int to, long timestampNanos,
+                           long sessionId) {
+            codes.add(code);
+            sessions.add(sessionId);
+        }
+    }
+}
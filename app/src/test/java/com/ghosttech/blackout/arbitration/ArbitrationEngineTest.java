@@ -0,0 +1,83 @@
+package com.ghosttech.blackout.arbitration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.ghosttech.blackout.engine.BlackoutEngine;
+import com.ghosttech.blackout.engine.BlackoutSession;
+import com.ghosttech.blackout.engine.EngineConfig;
+import com.ghosttech.blackout.engine.EngineState;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ArbitrationEngineTest {
+
+    private KeyPair pair;
+    private SlotStealingEngine engine;
+    private ArbitrationEngine arbiter;
+
+    @Before
+    public void setUp() throws Exception {
+        pair = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+        engine = new SlotStealingEngine(pair);
+        arbiter = new ArbitrationEngine(engine, 1, 8);
+    }
+
+    @After
+    public void tearDown() {
+        arbiter.shutdown();
+    }
+
+    @Test
+    public void emptyQueueBoundIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ArbitrationEngine(engine, 1, 0));
+    }
+
+    @Test
+    public void workerOutlivesLosingItsReplacementSlot() throws Exception {
+        engine.refusals.set(3);
+
+        ArbitrationResult<Void> failed = arbiter.<Void>submit(
+                ArbitrationEngine.Priority.NORMAL, 5, TimeUnit.SECONDS, session -> {
+                    session.unlock(pair.getPrivate());
+                    throw new IllegalStateException("Left mid-lifecycle");
+                }).get(5, TimeUnit.SECONDS);
+        ArbitrationResult<EngineState> next = arbiter.submit(
+                ArbitrationEngine.Priority.NORMAL, 5, TimeUnit.SECONDS,
+                BlackoutSession::getState).get(5, TimeUnit.SECONDS);
+
+        assertEquals(ArbitrationResult.Outcome.FAILED, failed.getOutcome());
+        assertTrue(next.isCompleted());
+        assertEquals(EngineState.COLD, next.getValue());
+        assertTrue(engine.refusals.get() <= 0);
+    }
+
+    /**
+     * Refuses openSession() while refusals remain, as if another caller
+     * had taken the slot the worker just freed.
+     */
+    private static final class SlotStealingEngine extends BlackoutEngine {
+
+        final AtomicInteger refusals = new AtomicInteger();
+
+        SlotStealingEngine(KeyPair pair) {
+            super(pair.getPublic(), new EngineConfig.Builder().maxSessions(2).build());
+        }
+
+        @Override
+        public BlackoutSession openSession() {
+            if (refusals.getAndDecrement() > 0) {
+                throw new IllegalStateException("Session limit reached");
+            }
+            return super.openSession();
+        }
+    }
+}
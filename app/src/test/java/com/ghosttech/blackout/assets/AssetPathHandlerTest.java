@@ -0,0 +1,60 @@
+package com.ghosttech.blackout.assets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.webkit.WebResourceResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+@RunWith(RobolectricTestRunner.class)
+public class AssetPathHandlerTest {
+
+    private AssetPathHandler handler;
+
+    @Before
+    public void setUp() {
+        // The packaged assets: index.html is stored only as index.html.gz.
+        handler = new AssetPathHandler(RuntimeEnvironment.getApplication().getAssets(), 1 << 20);
+    }
+
+    @After
+    public void tearDown() {
+        handler.shutdown();
+    }
+
+    @Test
+    public void gzippedAssetIsServedDecoded() throws IOException {
+        WebResourceResponse response = handler.handle("index.html");
+
+        assertEquals("text/html", response.getMimeType());
+        assertNull(response.getResponseHeaders().get("Content-Encoding"));
+        String body = new String(readFully(response.getData()), StandardCharsets.UTF_8);
+        assertTrue(body.startsWith("<!DOCTYPE html>"));
+    }
+
+    @Test
+    public void missingAssetHasNoBody() {
+        assertNull(handler.handle("missing.html").getData());
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,149 @@
+package com.ghosttech.blackout.bridge;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.webkit.WebMessagePort;
+import android.webkit.WebView;
+
+import androidx.webkit.WebMessageCompat;
+import androidx.webkit.WebMessagePortCompat;
+
+import com.ghosttech.blackout.api.PayloadSigner;
+import com.ghosttech.blackout.router.BlackoutRouter;
+
+import java.lang.reflect.InvocationHandler;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+@RunWith(RobolectricTestRunner.class)
+public class WebMessageBridgeTest {
+
+    private FakePort port;
+    private WebMessageBridge bridge;
+
+    @Before
+    public void setUp() {
+        BlackoutRouter router = BlackoutRouter.builder(null)
+                .local("/echo", payload -> new String(payload, StandardCharsets.UTF_8))
+                .build();
+        BridgeDispatcher dispatcher = new BridgeDispatcher(new CompletableFuture<PayloadSigner>(),
+                CompletableFuture.completedFuture(router), 4);
+        bridge = new WebMessageBridge(new WebView(RuntimeEnvironment.getApplication()),
+                dispatcher, Uri.parse("https://appassets.androidplatform.net"));
+        port = new FakePort();
+        bridge.attach(port);
+    }
+
+    @Test
+    public void responseIsPostedBackOnTheMainThread() {
+        port.receive(new WebMessageCompat(BridgeFrame.encodeRequest(
+                BridgeFrame.KIND_COMMAND, 7, "/echo", "ping".getBytes(StandardCharsets.UTF_8))));
+        assertTrue(port.posted.isEmpty());
+
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertEquals(1, port.posted.size());
+        ByteBuffer response = ByteBuffer.wrap(port.posted.get(0));
+        assertEquals(BridgeFrame.VERSION, response.get());
+        assertEquals(BridgeFrame.STATUS_OK, response.get());
+        assertEquals(7, response.getInt());
+        byte[] body = new byte[response.remaining()];
+        response.get(body);
+        assertArrayEquals("ping".getBytes(StandardCharsets.UTF_8), body);
+    }
+
+    @Test
+    public void unroutedCommandGetsAnErrorFrame() {
+        port.receive(new WebMessageCompat(BridgeFrame.encodeRequest(
+                BridgeFrame.KIND_COMMAND, 9, "/missing", new byte[0])));
+
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertEquals(1, port.posted.size());
+        ByteBuffer response = ByteBuffer.wrap(port.posted.get(0));
+        response.get();
+        assertEquals(BridgeFrame.STATUS_ERROR, response.get());
+        assertEquals(9, response.getInt());
+    }
+
+    @Test
+    public void stringMessagesAreIgnored() {
+        port.receive(new WebMessageCompat("not a frame"));
+
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertTrue(port.posted.isEmpty());
+    }
+
+    @Test
+    public void responsesForAClosedChannelAreDropped() {
+        port.receive(new WebMessageCompat(BridgeFrame.encodeRequest(
+                BridgeFrame.KIND_COMMAND, 1, "/echo", new byte[] {1})));
+        bridge.close();
+
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertTrue(port.closed);
+        assertTrue(port.posted.isEmpty());
+    }
+
+    /**
+     * Native end of a channel: captures the callback and what is posted.
+     */
+    private static final class FakePort extends WebMessagePortCompat {
+
+        final List<byte[]> posted = new ArrayList<>();
+        WebMessageCallbackCompat callback;
+        boolean closed;
+
+        void receive(WebMessageCompat message) {
+            callback.onMessage(this, message);
+        }
+
+        @Override
+        public void postMessage(WebMessageCompat message) {
+            byte[] frame = message.getArrayBuffer();
+            posted.add(Arrays.copyOf(frame, frame.length));
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public void setWebMessageCallback(WebMessageCallbackCompat callback) {
+            this.callback = callback;
+        }
+
+        @Override
+        public void setWebMessageCallback(Handler handler, WebMessageCallbackCompat callback) {
+            this.callback = callback;
+        }
+
+        @Override
+        public WebMessagePort getFrameworkPort() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public InvocationHandler getInvocationHandler() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.ghosttech.blackout.security;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.ghosttech.blackout.api.PayloadSignature;
+import com.ghosttech.blackout.api.SignedEnvelope;
+import com.ghosttech.blackout.arbitration.ArbitrationEngine;
+import com.ghosttech.blackout.engine.BlackoutEngine;
+import com.ghosttech.blackout.engine.EngineConfig;
+import com.ghosttech.blackout.engine.EngineState;
+import com.ghosttech.blackout.engine.SecurityController;
+import com.ghosttech.blackout.engine.SignatureAlgorithm;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import okio.Buffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SessionSignerTest {
+
+    private static final byte[] PAYLOAD = "payload".getBytes(StandardCharsets.UTF_8);
+
+    private KeyManager keyManager;
+    private BlackoutEngine engine;
+    private ArbitrationEngine arbiter;
+    private SessionSigner signer;
+    private int sessions;
+
+    @Before
+    public void setUp() throws GeneralSecurityException {
+        EngineConfig config = new EngineConfig.Builder()
+                .maxSessions(4)
+                .signatureAlgorithm(SignatureAlgorithm.RSA_SHA256)
+                .build();
+        keyManager = new KeyManager(config.getSignatureAlgorithm(), 4);
+        engine = new BlackoutEngine(keyManager.acquire().getPublic(), config);
+        arbiter = new ArbitrationEngine(engine, 2, 16);
+        sessions = engine.availableSessions();
+        signer = new SessionSigner(arbiter, keyManager,
+                ArbitrationEngine.Priority.NORMAL, 10, TimeUnit.SECONDS);
+    }
+
+    @After
+    public void tearDown() {
+        arbiter.shutdown();
+        keyManager.shutdown();
+    }
+
+    @Test
+    public void signingOpensNoFurtherSessions() throws Exception {
+        byte[] signature = signer.sign(null, PAYLOAD).get(10, TimeUnit.SECONDS).getSignature();
+
+        assertTrue(signature.length > 0);
+        assertEquals(sessions, engine.availableSessions());
+        // The engine's own session is never unlocked.
+        assertFalse(engine.isReady());
+    }
+
+    @Test
+    public void eachSignatureUsesAFreshKey() throws Exception {
+        PayloadSignature first = signer.sign(null, PAYLOAD).get(10, TimeUnit.SECONDS);
+        PayloadSignature second = signer.sign(null, PAYLOAD).get(10, TimeUnit.SECONDS);
+
+        assertFalse(Arrays.equals(first.getPublicKey(), second.getPublicKey()));
+        // RSA signatures are deterministic: only a new key changes them.
+        assertFalse(Arrays.equals(first.getSignature(), second.getSignature()));
+    }
+
+    @Test
+    public void signatureVerifiesWithTheKeyItCarries() throws Exception {
+        byte[] header = {1, 2, 3};
+        PayloadSignature signed = signer.sign(header, PAYLOAD).get(10, TimeUnit.SECONDS);
+
+        SecurityController verifier = verifierFor(signed.getPublicKey());
+        assertTrue(verifier.verify(concat(header, PAYLOAD), signed.getSignature()));
+        assertFalse(verifier.verify(concat(header, "tampered".getBytes(StandardCharsets.UTF_8)),
+                signed.getSignature()));
+    }
+
+    @Test
+    public void serverVerifiesTheEnvelopeWithItsCarriedKey() throws Exception {
+        Buffer body = new Buffer();
+        SignedEnvelope.sign(signer, PAYLOAD).get(10, TimeUnit.SECONDS)
+                .toRequestBody().writeTo(body);
+
+        // What a server does: split the envelope, then verify the signed
+        // prefix with the key the envelope carries.
+        ByteBuffer envelope = ByteBuffer.wrap(body.readByteArray());
+        // 20-byte prefix, u32 payload length, payload
+        envelope.position(24 + envelope.getInt(20));
+        byte[] signedPart = Arrays.copyOf(envelope.array(), envelope.position());
+        byte[] key = new byte[envelope.getShort() & 0xFFFF];
+        envelope.get(key);
+        byte[] signature = new byte[envelope.getShort() & 0xFFFF];
+        envelope.get(signature);
+
+        assertFalse(envelope.hasRemaining());
+        assertTrue(verifierFor(key).verify(signedPart, signature));
+    }
+
+    @Test
+    public void concurrentSignaturesAllComplete() throws Exception {
+        List<CompletableFuture<PayloadSignature>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(signer.sign(new byte[] {(byte) i}, PAYLOAD));
+        }
+        for (CompletableFuture<PayloadSignature> future : futures) {
+            assertTrue(future.get(10, TimeUnit.SECONDS).getSignature().length > 0);
+        }
+        assertEquals(sessions, engine.availableSessions());
+    }
+
+    @Test
+    public void signatureThatWaitsPastItsDeadlineTimesOut() throws Exception {
+        // Worker 0 serves INTERACTIVE only; hold the other one. Wait until
+        // it is held: the queue is earliest-deadline-first, so a waiting
+        // holder would be overtaken by the 50 ms request.
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        arbiter.submit(ArbitrationEngine.Priority.NORMAL, 10, TimeUnit.SECONDS, session -> {
+            held.countDown();
+            return release.await(10, TimeUnit.SECONDS);
+        });
+        assertTrue(held.await(10, TimeUnit.SECONDS));
+        SessionSigner impatient = new SessionSigner(arbiter, keyManager,
+                ArbitrationEngine.Priority.NORMAL, 50, TimeUnit.MILLISECONDS);
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> impatient.sign(null, PAYLOAD).get(10, TimeUnit.SECONDS));
+        release.countDown();
+        assertSame(TimeoutException.class, e.getCause().getClass());
+    }
+
+    @Test
+    public void signAfterShutdownFails() {
+        arbiter.shutdown();
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> signer.sign(null, PAYLOAD).get(10, TimeUnit.SECONDS));
+        assertSame(IllegalStateException.class, e.getCause().getClass());
+        assertNotEquals(EngineState.ACTIVE, engine.getState());
+    }
+
+    /**
+     * Builds an engine-side verifier for an X.509-encoded public key.
+     */
+    private static SecurityController verifierFor(byte[] encodedKey) throws Exception {
+        SignatureAlgorithm algorithm = SignatureAlgorithm.RSA_SHA256;
+        PublicKey key = KeyFactory.getInstance(algorithm.getKeyAlgorithm())
+                .generatePublic(new X509EncodedKeySpec(encodedKey));
+        return new SecurityController(key, algorithm);
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] joined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+        return joined;
+    }
+}
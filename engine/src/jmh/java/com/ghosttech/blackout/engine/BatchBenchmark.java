@@ -0,0 +1,59 @@
+package com.ghosttech.blackout.engine;
+
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Per-item lifecycle versus executeBatch().
+ *
+ * Both methods sign batchSize items per invocation, so their scores
+ * compare directly: the difference is the cost of batchSize - 1
+ * UNLOCK/ERASE round trips amortized away by batching.
+ */
+@State(Scope.Thread)
+public class BatchBenchmark {
+
+    @Param({"1", "16", "64"})
+    public int batchSize;
+
+    @Param({"256"})
+    public int payloadSize;
+
+    private KeyPair pair;
+    private BlackoutEngine engine;
+    private List<byte[]> items;
+
+    @Setup
+    public void setUp() throws Exception {
+        pair = SignatureAlgorithm.RSA_SHA256.newKeyPairGenerator().generateKeyPair();
+        engine = new BlackoutEngine(pair.getPublic());
+        items = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            items.add(new byte[payloadSize]);
+        }
+    }
+
+    @Benchmark
+    public void cyclePerItem(Blackhole blackhole) {
+        for (byte[] item : items) {
+            engine.unlock(pair.getPrivate());
+            blackhole.consume(engine.execute(item));
+            engine.erase();
+        }
+    }
+
+    @Benchmark
+    public List<byte[]> executeBatch() {
+        engine.unlock(pair.getPrivate());
+        List<byte[]> signatures = engine.executeBatch(items);
+        engine.erase();
+        return signatures;
+    }
+}
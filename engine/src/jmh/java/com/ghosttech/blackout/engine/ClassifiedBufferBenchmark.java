@@ -0,0 +1,52 @@
+package com.ghosttech.blackout.engine;
+
+import java.nio.ByteBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * ClassifiedBuffer allocate → write → read → wipe, fresh and pooled.
+ *
+ * read() returns a copy, view() does not; the gc profiler's
+ * alloc.rate.norm shows the difference per operation.
+ */
+@State(Scope.Thread)
+public class ClassifiedBufferBenchmark {
+
+    @Param({"64", "1024", "16384"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean direct;
+
+    private byte[] input;
+    private BufferPool pool;
+
+    @Setup
+    public void setUp() {
+        input = new byte[size];
+        pool = new BufferPool(direct, 4, 64 * 1024);
+    }
+
+    @Benchmark
+    public byte[] allocateWriteReadWipe() {
+        ClassifiedBuffer buffer = new ClassifiedBuffer(size, direct);
+        buffer.write(input);
+        byte[] copy = buffer.read();
+        buffer.wipe();
+        return copy;
+    }
+
+    @Benchmark
+    public int pooledWriteViewRelease() {
+        ClassifiedBuffer buffer = pool.acquire(size);
+        buffer.write(input);
+        ByteBuffer view = buffer.view();
+        int remaining = view.remaining();
+        pool.release(buffer);
+        return remaining;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ghosttech.blackout.engine;
+
+import java.security.KeyPair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Full UNLOCK → EXECUTE → ERASE cycle on one engine.
+ *
+ * The keypair is generated once in setup, so the score is the engine's
+ * own cost: state and phase transitions, boundary activation, buffer
+ * allocation, one signature, and teardown.
+ */
+@State(Scope.Thread)
+public class LifecycleBenchmark {
+
+    @Param({"64", "1024", "16384"})
+    public int payloadSize;
+
+    @Param({"RSA_SHA256", "ECDSA_P256"})
+    public SignatureAlgorithm algorithm;
+
+    private KeyPair pair;
+    private BlackoutEngine engine;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws Exception {
+        pair = algorithm.newKeyPairGenerator().generateKeyPair();
+        engine = new BlackoutEngine(pair.getPublic(),
+                new EngineConfig.Builder().signatureAlgorithm(algorithm).build());
+        payload = new byte[payloadSize];
+    }
+
+    @Benchmark
+    public byte[] unlockExecuteErase() {
+        engine.unlock(pair.getPrivate());
+        byte[] signature = engine.execute(payload);
+        engine.erase();
+        return signature;
+    }
+}
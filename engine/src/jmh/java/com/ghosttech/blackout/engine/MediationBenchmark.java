@@ -0,0 +1,39 @@
+package com.ghosttech.blackout.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * MediationController transition cost, with no boundary or crypto work.
+ */
+@State(Scope.Thread)
+public class MediationBenchmark {
+
+    private MediationController controller;
+
+    @Setup
+    public void setUp() {
+        controller = new MediationController(new AnomalyHandler());
+    }
+
+    /**
+     * COLD → ACTIVE, UNLOCK → EXECUTE → ERASE, ACTIVE → COLD, reset.
+     */
+    @Benchmark
+    public EngineState fullCycle() {
+        controller.transitionState(EngineState.ACTIVE);
+        controller.transitionPhase(LifecyclePhase.UNLOCK);
+        controller.transitionPhase(LifecyclePhase.EXECUTE);
+        controller.transitionPhase(LifecyclePhase.ERASE);
+        controller.transitionState(EngineState.COLD);
+        controller.resetLifecycle();
+        return controller.getCurrentState();
+    }
+
+    @Benchmark
+    public LifecyclePhase readPhase() {
+        return controller.getCurrentPhase();
+    }
+}
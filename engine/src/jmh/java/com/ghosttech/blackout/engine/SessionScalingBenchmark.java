@@ -0,0 +1,82 @@
+package com.ghosttech.blackout.engine;
+
+import java.security.KeyPair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Lifecycle throughput as threads are added, with one session per thread.
+ *
+ * Each thread opens its own session from a shared engine, so sessions
+ * share nothing but the engine's session slots. Aggregate throughput
+ * should grow with the thread count up to the core count.
+ */
+public class SessionScalingBenchmark {
+
+    private static final int PAYLOAD_SIZE = 256;
+
+    @State(Scope.Benchmark)
+    public static class SharedEngine {
+        KeyPair pair;
+        BlackoutEngine engine;
+
+        @Setup
+        public void setUp() throws Exception {
+            pair = SignatureAlgorithm.RSA_SHA256.newKeyPairGenerator().generateKeyPair();
+            engine = new BlackoutEngine(pair.getPublic(),
+                    new EngineConfig.Builder().maxSessions(64).build());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadSession {
+        BlackoutSession session;
+        final byte[] payload = new byte[PAYLOAD_SIZE];
+
+        @Setup
+        public void setUp(SharedEngine shared) {
+            session = shared.engine.openSession();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            session.close();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] threads1(SharedEngine shared, ThreadSession local) {
+        return cycle(shared, local);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public byte[] threads2(SharedEngine shared, ThreadSession local) {
+        return cycle(shared, local);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] threads4(SharedEngine shared, ThreadSession local) {
+        return cycle(shared, local);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public byte[] threads8(SharedEngine shared, ThreadSession local) {
+        return cycle(shared, local);
+    }
+
+    private static byte[] cycle(SharedEngine shared, ThreadSession local) {
+        local.session.unlock(shared.pair.getPrivate());
+        byte[] signature = local.session.execute(local.payload);
+        local.session.erase();
+        return signature;
+    }
+}
@@ -0,0 +1,47 @@
+package com.ghosttech.blackout.engine;
+
+import java.security.KeyPair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * SecurityController sign and verify, per signature scheme.
+ *
+ * Signature size per scheme is printed once at setup.
+ */
+@State(Scope.Thread)
+public class SignatureBenchmark {
+
+    @Param({"RSA_SHA256", "ECDSA_P256", "ED25519"})
+    public SignatureAlgorithm algorithm;
+
+    @Param({"32", "1024"})
+    public int payloadSize;
+
+    private SecurityController controller;
+    private byte[] payload;
+    private byte[] signature;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPair pair = algorithm.newKeyPairGenerator().generateKeyPair();
+        controller = new SecurityController(pair.getPublic(), algorithm);
+        controller.loadEphemeralKey(pair.getPrivate());
+        payload = new byte[payloadSize];
+        signature = controller.sign(payload);
+        System.out.println("# " + algorithm + " signature: " + signature.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] sign() throws Exception {
+        return controller.sign(payload);
+    }
+
+    @Benchmark
+    public boolean verify() throws Exception {
+        return controller.verify(payload, signature);
+    }
+}
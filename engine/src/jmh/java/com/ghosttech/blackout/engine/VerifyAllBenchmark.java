@@ -0,0 +1,57 @@
+package com.ghosttech.blackout.engine;
+
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * verifyAll() batch throughput as fork-join parallelism grows.
+ */
+@State(Scope.Benchmark)
+public class VerifyAllBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    @Param({"256"})
+    public int batchSize;
+
+    private SecurityController controller;
+    private ForkJoinPool pool;
+    private List<byte[]> data;
+    private List<byte[]> signatures;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPair pair = SignatureAlgorithm.RSA_SHA256.newKeyPairGenerator().generateKeyPair();
+        controller = new SecurityController(pair.getPublic());
+        controller.loadEphemeralKey(pair.getPrivate());
+        pool = new ForkJoinPool(parallelism);
+        data = new ArrayList<>(batchSize);
+        signatures = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            byte[] item = new byte[64];
+            item[0] = (byte) i;
+            data.add(item);
+            signatures.add(controller.sign(item));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public BitSet verifyAll() {
+        return controller.verifyAll(data, signatures, false, pool);
+    }
+}
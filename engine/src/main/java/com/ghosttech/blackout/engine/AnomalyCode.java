@@ -0,0 +1,60 @@
+package com.ghosttech.blackout.engine;
+
+/**
+ * AnomalyCode identifies what kind of rule an anomaly broke.
+ *
+ * Each anomaly carries a from and a to value. For state codes they are
+ * EngineState ordinals; for phase codes, LifecyclePhase ordinals. NONE
+ * marks a value that does not apply. Text is only built by describe(),
+ * never when the anomaly is raised.
+ *
+ * Authoritative reference: Blackout Engine Logic Sheet (Daniel)
+ */
+public enum AnomalyCode {
+
+    ILLEGAL_STATE_TRANSITION(false, "Illegal state transition"),
+    CONCURRENT_STATE_TRANSITION(false, "Concurrent state transition"),
+    LIFECYCLE_NOT_STARTED(true, "Lifecycle must begin with UNLOCK"),
+    ILLEGAL_PHASE_TRANSITION(true, "Illegal lifecycle transition"),
+    CONCURRENT_PHASE_TRANSITION(true, "Concurrent lifecycle transition"),
+    SESSION_TEARDOWN_FAILED(false, "Session teardown failed");
+
+    /** From or to value that does not apply. */
+    public static final int NONE = -1;
+
+    private static final EngineState[] STATES = EngineState.values();
+    private static final LifecyclePhase[] PHASES = LifecyclePhase.values();
+
+    private final boolean phase;
+    private final String description;
+
+    AnomalyCode(boolean phase, String description) {
+        this.phase = phase;
+        this.description = description;
+    }
+
+    /**
+     * Indicates whether from and to are LifecyclePhase ordinals rather
+     * than EngineState ordinals.
+     */
+    public boolean isPhase() {
+        return phase;
+    }
+
+    /**
+     * Formats the anomaly as text, e.g. "Illegal state transition: ACTIVE → ACTIVE".
+     */
+    public String describe(int from, int to) {
+        if (from == NONE && to == NONE) {
+            return description;
+        }
+        return description + ": " + name(from) + " → " + name(to);
+    }
+
+    private String name(int ordinal) {
+        if (ordinal == NONE) {
+            return "-";
+        }
+        return phase ? PHASES[ordinal].name() : STATES[ordinal].name();
+    }
+}
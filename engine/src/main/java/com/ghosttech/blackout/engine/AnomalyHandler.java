@@ -0,0 +1,50 @@
+package com.ghosttech.blackout.engine;
+
+/**
+ * AnomalyHandler defines how the Blackout engine reacts to violations of
+ * state rules, lifecycle rules, boundary rules, or security constraints.
+ *
+ * Rules enforced:
+ *  - No silent failures.
+ *  - All violations must be reported through the AnomalyReporter.
+ *  - Engine must enter LOCKED state after anomaly.
+ *  - No recovery without full teardown.
+ *
+ * Authoritative reference: Blackout Engine Logic Sheet (Daniel)
+ */
+public class AnomalyHandler {
+
+    private final AnomalyReporter reporter;
+
+    public AnomalyHandler() {
+        this(AnomalyReporter.DEFAULT);
+    }
+
+    /**
+     * @param reporter Destination for anomaly reports.
+     */
+    public AnomalyHandler(AnomalyReporter reporter) {
+        this.reporter = reporter;
+    }
+
+    /**
+     * Handles an anomaly by reporting it and triggering LOCKED state behavior.
+     * Allocates nothing; the reporter decides when, if ever, to format it.
+     *
+     * @param code      What kind of rule was broken.
+     * @param from      Ordinal the transition started from; see AnomalyCode.
+     * @param to        Ordinal the transition asked for; see AnomalyCode.
+     * @param sessionId Session the anomaly was raised in.
+     */
+    public void handle(AnomalyCode code, int from, int to, long sessionId) {
+        reporter.report(code, from, to, System.nanoTime(), sessionId);
+
+        // In a classified-tier system, this would trigger:
+        // - immediate teardown
+        // - key destruction
+        // - boundary wipe
+        // - state lock
+        //
+        // For now, we report the anomaly. The Engine class will enforce LOCKED.
+    }
+}
@@ -0,0 +1,52 @@
+package com.ghosttech.blackout.engine;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * AnomalyReporter is where AnomalyHandler sends anomaly reports.
+ *
+ * The engine has no platform dependencies. The host supplies a reporter
+ * through EngineConfig, e.g. a ring buffer drained to logcat on Android.
+ *
+ * Reports are structured, not text. report() runs inside the
+ * transition that failed, before lockdown, so it should record and
+ * return; formatting and I/O belong elsewhere.
+ *
+ * Rules enforced:
+ *  - report() must not throw; a failed report must never mask the
+ *    anomaly's lockdown.
+ *
+ * Authoritative reference: Blackout Engine Logic Sheet (Daniel)
+ */
+public interface AnomalyReporter {
+
+    /** Session id for anomalies raised outside any session. */
+    long NO_SESSION = -1;
+
+    /**
+     * Formats and logs through java.util.logging, on the calling thread.
+     * Used when no reporter is configured.
+     */
+    AnomalyReporter DEFAULT = new AnomalyReporter() {
+        private final Logger logger = Logger.getLogger("Blackout-Anomaly");
+
+        @Override
+        public void report(AnomalyCode code, int from, int to,
+                           long timestampNanos, long sessionId) {
+            logger.log(Level.SEVERE, "ANOMALY DETECTED: " + code.describe(from, to)
+                    + " (session " + sessionId + ")");
+        }
+    };
+
+    /**
+     * Records one anomaly.
+     *
+     * @param code           What kind of rule was broken.
+     * @param from           Ordinal the transition started from, or AnomalyCode.NONE.
+     * @param to             Ordinal the transition asked for, or AnomalyCode.NONE.
+     * @param timestampNanos System.nanoTime() when the anomaly was raised.
+     * @param sessionId      Session the anomaly was raised in, or NO_SESSION.
+     */
+    void report(AnomalyCode code, int from, int to, long timestampNanos, long sessionId);
+}
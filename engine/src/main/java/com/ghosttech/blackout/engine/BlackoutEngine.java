@@ -0,0 +1,232 @@
+package com.ghosttech.blackout.engine;
+
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BlackoutEngine orchestrates all components of the classified-tier
+ * Blackout execution model. It enforces:
+ *
+ *  - State transitions
+ *  - Lifecycle traversal
+ *  - Boundary activation
+ *  - Ephemeral key loading
+ *  - Classified buffer allocation
+ *  - Controlled execution
+ *  - Deterministic teardown
+ *
+ * Every lifecycle runs in a BlackoutSession. The engine owns one session
+ * for its own unlock/execute/erase calls, and hands out further isolated
+ * sessions through openSession(), up to the configured concurrency cap.
+ * Calls on the engine's own session are serialized on it, so phases
+ * driven from several threads never interleave.
+ *
+ * Authoritative reference: Blackout Engine Logic Sheet (Daniel)
+ */
+public class BlackoutEngine {
+
+    private final PublicKey publicKey;
+    private final EngineConfig config;
+    private final AnomalyHandler anomalyHandler;
+    private final EngineMetrics metrics;
+    private final Semaphore sessionSlots;
+    private final AtomicLong nextSessionId;
+    private final BlackoutSession session;
+
+    public BlackoutEngine(PublicKey publicKey) {
+        this(publicKey, EngineConfig.defaults());
+    }
+
+    public BlackoutEngine(PublicKey publicKey, EngineConfig config) {
+        this.publicKey = publicKey;
+        this.config = config;
+        this.anomalyHandler = new AnomalyHandler(config.getAnomalyReporter());
+        this.metrics = new EngineMetrics();
+        this.sessionSlots = new Semaphore(config.getMaxSessions());
+        this.nextSessionId = new AtomicLong();
+        this.session = newSession(() -> { });
+    }
+
+    /**
+     * Opens an isolated session with its own boundary, key slot, and
+     * lifecycle tracking. Safe to call from any thread.
+     *
+     * @return A COLD session; close it to return its slot.
+     * @throws IllegalStateException if the session cap has been reached.
+     */
+    public BlackoutSession openSession() {
+        if (!sessionSlots.tryAcquire()) {
+            throw new IllegalStateException("Session limit reached");
+        }
+        try {
+            return newSession(sessionSlots::release);
+        } catch (RuntimeException e) {
+            sessionSlots.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of further sessions that can be opened now.
+     */
+    public int availableSessions() {
+        return sessionSlots.availablePermits();
+    }
+
+    private BlackoutSession newSession(Runnable onClose) {
+        return new BlackoutSession(
+                nextSessionId.getAndIncrement(),
+                new SecurityController(publicKey, config.getSignatureAlgorithm(), metrics),
+                anomalyHandler,
+                config,
+                metrics,
+                onClose);
+    }
+
+    /**
+     * Begins the UNLOCK phase:
+     *  - Transition state to ACTIVE
+     *  - Activate boundary
+     *  - Load ephemeral key
+     */
+    public void unlock(PrivateKey ephemeralKey) {
+        synchronized (session) {
+            session.unlock(ephemeralKey);
+        }
+    }
+
+    /**
+     * Executes a sensitive operation inside the boundary.
+     *
+     * @param input Data to process.
+     * @return Processed output.
+     */
+    public byte[] execute(byte[] input) {
+        synchronized (session) {
+            return session.execute(input);
+        }
+    }
+
+    /**
+     * Executes a batch of sensitive operations inside a single EXECUTE phase.
+     * See {@link BlackoutSession#executeBatch(List)}.
+     *
+     * @param inputs Data items to process, in order.
+     * @return Processed outputs, one per input, in the same order.
+     */
+    public List<byte[]> executeBatch(List<byte[]> inputs) {
+        synchronized (session) {
+            return session.executeBatch(inputs);
+        }
+    }
+
+    /**
+     * Executes a sensitive operation over a streamed payload.
+     * See {@link BlackoutSession#executeStream(InputStream)}.
+     *
+     * @param input Stream supplying the data to process.
+     * @return Processed output.
+     */
+    public byte[] executeStream(InputStream input) {
+        synchronized (session) {
+            return session.executeStream(input);
+        }
+    }
+
+    /**
+     * Executes a sensitive operation over a payload read from a channel.
+     * See {@link BlackoutSession#executeStream(ReadableByteChannel)}.
+     *
+     * @param input Channel supplying the data to process.
+     * @return Processed output.
+     */
+    public byte[] executeStream(ReadableByteChannel input) {
+        synchronized (session) {
+            return session.executeStream(input);
+        }
+    }
+
+    /**
+     * Signs one payload inside the engine's unlocked lifecycle.
+     * Successive calls share one EXECUTE phase until erase(); see
+     * {@link BlackoutSession#executeNext(byte[])}. Safe to call from any
+     * thread; calls are serialized on the engine's own session.
+     *
+     * @param payload Data to sign.
+     * @return Signature bytes.
+     */
+    public byte[] signPayload(byte[] payload) {
+        synchronized (session) {
+            return session.executeNext(payload);
+        }
+    }
+
+    /**
+     * Signs header || payload inside the engine's unlocked lifecycle, as
+     * {@link #signPayload(byte[])}. The parts are joined only inside the
+     * classified buffer.
+     *
+     * @param header  Bytes that precede the payload.
+     * @param payload Data to sign.
+     * @return Signature bytes.
+     */
+    public byte[] signPayload(byte[] header, byte[] payload) {
+        synchronized (session) {
+            return session.executeNext(header, payload);
+        }
+    }
+
+    /**
+     * Indicates whether the engine is unlocked and can sign payloads.
+     */
+    public boolean isReady() {
+        return session.isReady();
+    }
+
+    /**
+     * Performs deterministic teardown:
+     *  - Wipe buffers
+     *  - Destroy keys
+     *  - Reset lifecycle
+     *  - Return to COLD
+     */
+    public void erase() {
+        synchronized (session) {
+            session.erase();
+        }
+    }
+
+    /**
+     * Returns the signature scheme this engine signs with.
+     */
+    public SignatureAlgorithm getSignatureAlgorithm() {
+        return config.getSignatureAlgorithm();
+    }
+
+    /**
+     * Returns where this engine and its sessions report anomalies.
+     */
+    public AnomalyReporter getAnomalyReporter() {
+        return config.getAnomalyReporter();
+    }
+
+    /**
+     * Returns the on-device metrics registry shared by this engine and
+     * all its sessions. Read it with {@link EngineMetrics#snapshot()}.
+     */
+    public EngineMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the current engine state.
+     */
+    public EngineState getState() {
+        return session.getState();
+    }
+}
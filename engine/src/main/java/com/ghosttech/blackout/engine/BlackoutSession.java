@@ -0,0 +1,292 @@
+package com.ghosttech.blackout.engine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.security.PrivateKey;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BlackoutSession is one isolated lifecycle handed out by a BlackoutEngine.
+ * Each session owns its own boundary, ephemeral key slot, and mediation
+ * state, so sessions can run UNLOCK → EXECUTE → ERASE in parallel.
+ *
+ * Rules enforced:
+ *  - A session is confined to one thread at a time.
+ *  - No classified material is shared between sessions.
+ *  - close() performs teardown if the session is not COLD.
+ *  - A closed session accepts no further operations.
+ *
+ * Authoritative reference: Blackout Engine Logic Sheet (Daniel)
+ */
+public class BlackoutSession implements AutoCloseable {
+
+    private final long id;
+    private final Boundary boundary;
+    private final SecurityController securityController;
+    private final MediationController mediationController;
+    private final TeardownManager teardownManager;
+    private final int streamChunkSize;
+    private final Runnable onClose;
+    private boolean closed;
+
+    BlackoutSession(long id, SecurityController securityController, AnomalyHandler anomalyHandler,
+                    EngineConfig config, EngineMetrics metrics, Runnable onClose) {
+        this.id = id;
+        this.mediationController = new MediationController(anomalyHandler, metrics, id);
+        this.boundary = new Boundary(config, metrics);
+        this.securityController = securityController;
+        this.teardownManager = new TeardownManager(
+                boundary, securityController, mediationController, metrics);
+        this.streamChunkSize = config.getStreamChunkSize();
+        this.onClose = onClose;
+        this.closed = false;
+    }
+
+    /**
+     * Begins the UNLOCK phase:
+     *  - Transition state to ACTIVE
+     *  - Activate boundary
+     *  - Load ephemeral key
+     */
+    public void unlock(PrivateKey ephemeralKey) {
+        ensureOpen();
+        mediationController.transitionState(EngineState.ACTIVE);
+        mediationController.transitionPhase(LifecyclePhase.UNLOCK);
+
+        boundary.activate();
+        securityController.loadEphemeralKey(ephemeralKey);
+    }
+
+    /**
+     * Executes a sensitive operation inside the boundary. The input's
+     * buffer is wiped and returned to the boundary pool once signed.
+     *
+     * @param input Data to process.
+     * @return Processed output.
+     */
+    public byte[] execute(byte[] input) {
+        ensureOpen();
+        mediationController.transitionPhase(LifecyclePhase.EXECUTE);
+        if (mediationController.getCurrentState() != EngineState.ACTIVE) {
+            throw new IllegalStateException("Session not ACTIVE");
+        }
+        return executeItem(null, input);
+    }
+
+    /**
+     * Executes a batch of sensitive operations inside a single EXECUTE phase.
+     * The batch is one UNLOCK → EXECUTE → ERASE lifecycle: the key is loaded
+     * once and torn down once by erase().
+     *
+     * Each item gets its own classified buffer, which is wiped and returned
+     * to the boundary pool as soon as that item has been signed.
+     *
+     * @param inputs Data items to process, in order.
+     * @return Processed outputs, one per input, in the same order.
+     */
+    public List<byte[]> executeBatch(List<byte[]> inputs) {
+        ensureOpen();
+        mediationController.transitionPhase(LifecyclePhase.EXECUTE);
+
+        List<byte[]> outputs = new ArrayList<>(inputs.size());
+        for (byte[] input : inputs) {
+            if (mediationController.getCurrentState() != EngineState.ACTIVE) {
+                throw new IllegalStateException("Session left ACTIVE during batch");
+            }
+            outputs.add(executeItem(null, input));
+        }
+        return outputs;
+    }
+
+    /**
+     * Executes one more operation in the session's open EXECUTE phase.
+     * The first call moves UNLOCK → EXECUTE; later calls join that same
+     * phase, so an open-ended stream of items is still one lifecycle that
+     * erase() closes. Each item's buffer is wiped as soon as it is signed.
+     *
+     * @param input Data to process.
+     * @return Processed output.
+     */
+    public byte[] executeNext(byte[] input) {
+        return executeNext(null, input);
+    }
+
+    /**
+     * Executes one more operation over header || input, as
+     * {@link #executeNext(byte[])}. The two parts are joined only inside
+     * the classified buffer.
+     *
+     * @param header Bytes that precede the input; may be null.
+     * @param input  Data to process.
+     * @return Processed output.
+     */
+    public byte[] executeNext(byte[] header, byte[] input) {
+        ensureOpen();
+        if (mediationController.getCurrentPhase() != LifecyclePhase.EXECUTE) {
+            mediationController.transitionPhase(LifecyclePhase.EXECUTE);
+        }
+        if (mediationController.getCurrentState() != EngineState.ACTIVE) {
+            throw new IllegalStateException("Session not ACTIVE");
+        }
+        return executeItem(header, input);
+    }
+
+    /**
+     * Signs one item, optionally prefixed by a header, and releases its buffer.
+     */
+    private byte[] executeItem(byte[] header, byte[] input) {
+        int headerLength = header != null ? header.length : 0;
+        ClassifiedBuffer buffer = boundary.allocateBuffer(headerLength + input.length);
+        try {
+            if (header != null) {
+                buffer.write(header);
+                buffer.append(input);
+            } else {
+                buffer.write(input);
+            }
+            return securityController.sign(buffer.view());
+        } catch (Exception e) {
+            throw new RuntimeException("Execution failed", e);
+        } finally {
+            boundary.releaseBuffer(buffer);
+        }
+    }
+
+    /**
+     * Executes a sensitive operation over a streamed payload.
+     * The payload is read through one fixed-size classified chunk buffer,
+     * which is wiped after every chunk, so peak memory does not depend on
+     * payload size.
+     *
+     * @param input Stream supplying the data to process.
+     * @return Processed output.
+     */
+    public byte[] executeStream(InputStream input) {
+        return executeChunks(chunk -> chunk.fill(input));
+    }
+
+    /**
+     * Executes a sensitive operation over a payload read from a channel.
+     * Same guarantees as {@link #executeStream(InputStream)}. The channel
+     * must block: a read that returns no bytes ends the payload.
+     *
+     * @param input Channel supplying the data to process; a selectable
+     *              channel in non-blocking mode is rejected.
+     * @return Processed output.
+     */
+    public byte[] executeStream(ReadableByteChannel input) {
+        return executeChunks(chunk -> chunk.fill(input));
+    }
+
+    /**
+     * Signs a payload chunk by chunk. The session must stay ACTIVE for
+     * the whole stream, as for executeBatch().
+     */
+    private byte[] executeChunks(ChunkSource source) {
+        ensureOpen();
+        mediationController.transitionPhase(LifecyclePhase.EXECUTE);
+        if (mediationController.getCurrentState() != EngineState.ACTIVE) {
+            throw new IllegalStateException("Session not ACTIVE");
+        }
+
+        ClassifiedBuffer chunk = boundary.allocateBuffer(streamChunkSize);
+        try {
+            while (source.fill(chunk) > 0) {
+                if (mediationController.getCurrentState() != EngineState.ACTIVE) {
+                    throw new IllegalStateException("Session left ACTIVE during stream");
+                }
+                securityController.signUpdate(chunk.view());
+                chunk.scrub();
+            }
+            return securityController.signFinal();
+        } catch (IllegalStateException e) {
+            securityController.abortSign();
+            throw e;
+        } catch (Exception e) {
+            securityController.abortSign();
+            throw new RuntimeException("Execution failed", e);
+        } finally {
+            boundary.releaseBuffer(chunk);
+        }
+    }
+
+    /**
+     * Performs deterministic teardown:
+     *  - Wipe buffers
+     *  - Destroy keys
+     *  - Reset lifecycle
+     *  - Return to COLD
+     */
+    public void erase() {
+        ensureOpen();
+        mediationController.transitionPhase(LifecyclePhase.ERASE);
+        teardownManager.teardown();
+    }
+
+    /**
+     * Returns the current session state.
+     */
+    public EngineState getState() {
+        return mediationController.getCurrentState();
+    }
+
+    /**
+     * Indicates whether the session is unlocked and can accept
+     * executeNext() calls.
+     */
+    public boolean isReady() {
+        LifecyclePhase phase = mediationController.getCurrentPhase();
+        return !closed
+                && mediationController.getCurrentState() == EngineState.ACTIVE
+                && (phase == LifecyclePhase.UNLOCK || phase == LifecyclePhase.EXECUTE);
+    }
+
+    /**
+     * Returns the engine-unique identifier of this session.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Ends the session. Any classified material still held is torn down
+     * and the session slot is returned to the engine.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (mediationController.getCurrentState() != EngineState.COLD
+                    || boundary.isActive()) {
+                teardownManager.teardown();
+            }
+        } finally {
+            onClose.run();
+        }
+    }
+
+    /**
+     * Indicates whether the session has been closed.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Refills a chunk buffer from the stream being executed.
+     */
+    private interface ChunkSource {
+        int fill(ClassifiedBuffer chunk) throws IOException;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Session closed");
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.ghosttech.blackout.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boundary represents the classified execution boundary for the Blackout engine.
+ * All sensitive operations, buffers, and ephemeral key material must remain
+ * inside this boundary. No persistence, no leakage, no external references.
+ *
+ * Buffers are recycled through a size-class BufferPool. Every buffer is
+ * wiped on release, and destroy() wipes outstanding buffers and drains
+ * the pool.
+ *
+ * Authoritative reference: Blackout Engine Logic Sheet (Daniel)
+ */
+public class Boundary {
+
+    private final boolean offHeap;
+    private final BufferPool pool;
+    private final List<ClassifiedBuffer> outstanding;
+    private final EngineMetrics metrics;
+    private boolean active;
+    private ClassifiedBuffer buffer;
+
+    public Boundary() {
+        this(EngineConfig.defaults());
+    }
+
+    public Boundary(EngineConfig config) {
+        this(config, new EngineMetrics());
+    }
+
+    /**
+     * @param metrics Registry that receives buffer bytes allocated and wiped.
+     */
+    public Boundary(EngineConfig config, EngineMetrics metrics) {
+        this.offHeap = config.isOffHeapBuffers();
+        this.pool = config.getBufferPoolSlabsPerClass() > 0
+                ? new BufferPool(offHeap, config.getBufferPoolSlabsPerClass(),
+                        config.getBufferPoolMaxClassSize())
+                : null;
+        this.outstanding = new ArrayList<>();
+        this.metrics = metrics;
+        this.active = false;
+        this.buffer = null;
+    }
+
+    /**
+     * Activates the boundary for sensitive operations.
+     * Must be called during UNLOCK → ACTIVE transition.
+     */
+    public void activate() {
+        this.active = true;
+    }
+
+    /**
+     * Allocates a classified buffer inside the boundary, using the
+     * configured storage (on-heap or off-heap).
+     * @param size Size of the buffer in bytes.
+     * @return The allocated ClassifiedBuffer.
+     */
+    public ClassifiedBuffer allocateBuffer(int size) {
+        return allocateBuffer(size, offHeap);
+    }
+
+    /**
+     * Allocates a classified buffer inside the boundary.
+     * @param size Size of the buffer in bytes.
+     * @param direct true to allocate the buffer off-heap.
+     * @return The allocated ClassifiedBuffer.
+     */
+    public ClassifiedBuffer allocateBuffer(int size, boolean direct) {
+        if (!active) {
+            throw new IllegalStateException("Boundary not active");
+        }
+        ClassifiedBuffer allocated = (pool != null && direct == offHeap)
+                ? pool.acquire(size)
+                : new ClassifiedBuffer(size, direct);
+        outstanding.add(allocated);
+        metrics.add(EngineMetrics.Counter.BUFFER_BYTES_ALLOCATED, allocated.capacity());
+        this.buffer = allocated;
+        return allocated;
+    }
+
+    /**
+     * Wipes a buffer allocated by this boundary and returns it to the pool.
+     * @param released The buffer to release.
+     */
+    public void releaseBuffer(ClassifiedBuffer released) {
+        if (!outstanding.remove(released)) {
+            throw new IllegalArgumentException("Buffer not allocated by this boundary");
+        }
+        if (released == buffer) {
+            buffer = null;
+        }
+        metrics.add(EngineMetrics.Counter.BUFFER_BYTES_WIPED, released.capacity());
+        if (pool != null) {
+            pool.release(released);
+        } else {
+            released.wipe();
+        }
+    }
+
+    /**
+     * Returns the current classified buffer.
+     * @return ClassifiedBuffer or null if none allocated.
+     */
+    public ClassifiedBuffer getBuffer() {
+        return this.buffer;
+    }
+
+    /**
+     * Destroys all classified material inside the boundary.
+     * Called during ERASE → COLD transition.
+     */
+    public void destroy() {
+        for (ClassifiedBuffer allocated : outstanding) {
+            allocated.wipe();
+            metrics.add(EngineMetrics.Counter.BUFFER_BYTES_WIPED, allocated.capacity());
+        }
+        outstanding.clear();
+        buffer = null;
+        if (pool != null) {
+            pool.drain();
+        }
+        active = false;
+    }
+
+    /**
+     * Indicates whether the boundary is active.
+     * @return true if active, false otherwise.
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Returns the number of allocations served from the buffer pool.
+     */
+    public long getPoolHits() {
+        return pool != null ? pool.getHits() : 0;
+    }
+
+    /**
+     * Returns the number of allocations that missed the buffer pool.
+     */
+    public long getPoolMisses() {
+        return pool != null ? pool.getMisses() : 0;
+    }
+}
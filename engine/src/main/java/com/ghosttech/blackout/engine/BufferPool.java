@@ -0,0 +1,123 @@
+package com.ghosttech.blackout.engine;
+
+import java.util.ArrayDeque;
+
+/**
+ * BufferPool recycles classified buffers inside a Boundary using
+ * power-of-two size classes.
+ *
+ * Rules enforced:
+ *  - Every buffer is wiped before it re-enters the pool.
+ *  - Each size class retains at most a fixed number of slabs.
+ *  - Requests above the largest class are never pooled.
+ *  - drain() wipes and drops every retained slab.
+ *
+ * Authoritative reference: Blackout Engine Logic Sheet (Daniel)
+ */
+public class BufferPool {
+
+    private static final int MIN_CLASS_SHIFT = 6; // 64 bytes
+
+    private final boolean direct;
+    private final int slabsPerClass;
+    private final int maxClassShift;
+    private final ArrayDeque<ClassifiedBuffer>[] classes;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a pool.
+     *
+     * @param direct        true to pool off-heap buffers, false for on-heap.
+     * @param slabsPerClass Maximum buffers retained per size class.
+     * @param maxClassSize  Largest pooled size in bytes; rounded up to a power of two.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public BufferPool(boolean direct, int slabsPerClass, int maxClassSize) {
+        this.direct = direct;
+        this.slabsPerClass = slabsPerClass;
+        this.maxClassShift = Math.max(MIN_CLASS_SHIFT, shiftFor(maxClassSize));
+        this.classes = new ArrayDeque[maxClassShift - MIN_CLASS_SHIFT + 1];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = new ArrayDeque<>(slabsPerClass);
+        }
+    }
+
+    /**
+     * Returns a valid, zeroed buffer with capacity of at least size bytes.
+     */
+    public ClassifiedBuffer acquire(int size) {
+        int shift = shiftFor(size);
+        if (shift > maxClassShift) {
+            misses++;
+            return new ClassifiedBuffer(size, direct);
+        }
+
+        ClassifiedBuffer pooled = classes[shift - MIN_CLASS_SHIFT].pollFirst();
+        if (pooled != null) {
+            hits++;
+            pooled.rearm();
+            return pooled;
+        }
+        misses++;
+        return new ClassifiedBuffer(1 << shift, direct);
+    }
+
+    /**
+     * Wipes a buffer and retains it if its size class has room.
+     */
+    public void release(ClassifiedBuffer buffer) {
+        buffer.wipe();
+
+        int capacity = buffer.capacity();
+        if (buffer.isDirect() != direct || Integer.bitCount(capacity) != 1) {
+            return;
+        }
+        int shift = shiftFor(capacity);
+        if (shift < MIN_CLASS_SHIFT || shift > maxClassShift) {
+            return;
+        }
+        ArrayDeque<ClassifiedBuffer> slabs = classes[shift - MIN_CLASS_SHIFT];
+        if (slabs.size() < slabsPerClass) {
+            slabs.addFirst(buffer);
+        }
+    }
+
+    /**
+     * Wipes and drops every retained buffer.
+     * Called during boundary teardown.
+     */
+    public void drain() {
+        for (ArrayDeque<ClassifiedBuffer> slabs : classes) {
+            ClassifiedBuffer buffer;
+            while ((buffer = slabs.pollFirst()) != null) {
+                buffer.wipe();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of acquisitions served from the pool.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of acquisitions that allocated a new buffer.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the smallest class shift whose size holds the given bytes.
+     */
+    private static int shiftFor(int size) {
+        if (size <= (1 << MIN_CLASS_SHIFT)) {
+            return MIN_CLASS_SHIFT;
+        }
+        return 32 - Integer.numberOfLeadingZeros(size - 1);
+    }
+}
@@ -0,0 +1,266 @@
+package com.ghosttech.blackout.engine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.util.Arrays;
+
+/**
+ * ClassifiedBuffer represents a zero-retention, explicitly managed memory region
+ * used for sensitive operations inside the Blackout boundary.
+ *
+ * The region is either an on-heap byte array or an off-heap direct buffer.
+ * Off-heap storage keeps classified data out of the GC-managed heap, where
+ * the collector may move and duplicate it.
+ *
+ * Rules enforced:
+ *  - Explicit allocation
+ *  - Explicit overwrite before release
+ *  - No persistence
+ *  - No external references
+ *  - JVM GC cannot be trusted; manual wipe required
+ *
+ * Authoritative reference: Blackout Engine Logic Sheet (Daniel)
+ */
+public class ClassifiedBuffer {
+
+    private static final byte[] ZEROS = new byte[512];
+
+    private final ByteBuffer data;
+    private final boolean direct;
+    // Transfer array for filling a direct buffer from a stream; reused and zeroed after each fill.
+    private byte[] transfer;
+    private int length;
+    private boolean valid;
+
+    /**
+     * Allocates an on-heap classified buffer of the given size.
+     *
+     * @param size Size in bytes.
+     */
+    public ClassifiedBuffer(int size) {
+        this(size, false);
+    }
+
+    /**
+     * Allocates a classified buffer of the given size.
+     *
+     * @param size   Size in bytes.
+     * @param direct true to allocate off-heap, false for an on-heap array.
+     */
+    public ClassifiedBuffer(int size, boolean direct) {
+        this.data = direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.wrap(new byte[size]);
+        this.direct = direct;
+        this.length = 0;
+        this.valid = true;
+    }
+
+    /**
+     * Writes data into the classified buffer.
+     *
+     * @param input The data to write.
+     */
+    public void write(byte[] input) {
+        if (!valid) {
+            throw new IllegalStateException("Attempt to write to invalidated buffer");
+        }
+        if (input.length > data.capacity()) {
+            throw new IllegalArgumentException("Input exceeds buffer size");
+        }
+        ByteBuffer target = data.duplicate();
+        target.clear();
+        target.put(input);
+        length = input.length;
+    }
+
+    /**
+     * Appends data after the bytes already written.
+     *
+     * @param input The data to append.
+     */
+    public void append(byte[] input) {
+        if (!valid) {
+            throw new IllegalStateException("Attempt to write to invalidated buffer");
+        }
+        if (input.length > data.capacity() - length) {
+            throw new IllegalArgumentException("Input exceeds buffer size");
+        }
+        ByteBuffer target = data.duplicate();
+        target.clear();
+        target.position(length);
+        target.put(input);
+        length += input.length;
+    }
+
+    /**
+     * Fills the buffer from a channel, replacing its contents.
+     * Reads until the buffer is full, the channel reaches end of stream,
+     * or a read returns no bytes. A blocking channel only returns no bytes
+     * at end of stream; any other channel that does leaves the fill partial,
+     * possibly empty, rather than spinning until data arrives.
+     *
+     * @param source The channel to read from; a selectable channel must be
+     *               in blocking mode.
+     * @return Number of bytes now held, or -1 if the channel was already exhausted.
+     * @throws IllegalArgumentException if source is a non-blocking selectable channel.
+     */
+    public int fill(ReadableByteChannel source) throws IOException {
+        if (!valid) {
+            throw new IllegalStateException("Attempt to write to invalidated buffer");
+        }
+        if (source instanceof SelectableChannel && !((SelectableChannel) source).isBlocking()) {
+            throw new IllegalArgumentException("Channel must be in blocking mode");
+        }
+        ByteBuffer target = data.duplicate();
+        target.clear();
+        int read = 0;
+        while (target.hasRemaining()) {
+            read = source.read(target);
+            if (read <= 0) {
+                break;
+            }
+        }
+        length = target.position();
+        return (read < 0 && length == 0) ? -1 : length;
+    }
+
+    /**
+     * Fills the buffer from a stream, replacing its contents.
+     * Reads until the buffer is full or the stream reaches end of stream.
+     * On-heap buffers are filled in place; off-heap buffers go through a
+     * small transfer array, kept with the buffer and zeroed after every fill.
+     *
+     * @param source The stream to read from.
+     * @return Number of bytes now held, or -1 if the stream was already exhausted.
+     */
+    public int fill(InputStream source) throws IOException {
+        if (!valid) {
+            throw new IllegalStateException("Attempt to write to invalidated buffer");
+        }
+        int capacity = data.capacity();
+        int filled = 0;
+        int read = 0;
+        if (direct) {
+            if (transfer == null) {
+                transfer = new byte[Math.min(ZEROS.length, capacity)];
+            }
+            try {
+                while (filled < capacity
+                        && (read = source.read(transfer, 0, Math.min(transfer.length, capacity - filled))) >= 0) {
+                    ByteBuffer target = data.duplicate();
+                    target.position(filled);
+                    target.put(transfer, 0, read);
+                    filled += read;
+                }
+            } finally {
+                Arrays.fill(transfer, (byte) 0x00);
+            }
+        } else {
+            byte[] array = data.array();
+            while (filled < capacity && (read = source.read(array, filled, capacity - filled)) >= 0) {
+                filled += read;
+            }
+        }
+        length = filled;
+        return (read < 0 && length == 0) ? -1 : length;
+    }
+
+    /**
+     * Reads the classified data.
+     * Returns a copy to prevent external references.
+     *
+     * @return Copy of the written contents.
+     */
+    public byte[] read() {
+        if (!valid) {
+            throw new IllegalStateException("Attempt to read invalidated buffer");
+        }
+        byte[] copy = new byte[length];
+        ByteBuffer source = data.duplicate();
+        source.clear();
+        source.get(copy);
+        return copy;
+    }
+
+    /**
+     * Returns a zero-copy view of the written contents for the signing
+     * provider. A heap view exposes the backing array and a direct view the
+     * native address, so the provider reads the data in place instead of
+     * copying it through a temporary array that is never wiped. (A read-only
+     * buffer hides both.) The view shares storage with this buffer and
+     * observes the wipe; it must not be written to or outlive the operation
+     * it was taken for.
+     *
+     * @return View positioned at the start of the data.
+     */
+    public ByteBuffer view() {
+        if (!valid) {
+            throw new IllegalStateException("Attempt to read invalidated buffer");
+        }
+        ByteBuffer view = data.duplicate();
+        view.clear();
+        view.limit(length);
+        return view.slice();
+    }
+
+    /**
+     * Wipes the buffer by overwriting all bytes with zero.
+     */
+    public void wipe() {
+        scrub();
+        valid = false;
+    }
+
+    /**
+     * Overwrites all bytes with zero but keeps the buffer valid, so a
+     * streaming operation can reuse it for the next chunk.
+     */
+    public void scrub() {
+        if (direct) {
+            ByteBuffer target = data.duplicate();
+            target.clear();
+            while (target.remaining() > ZEROS.length) {
+                target.put(ZEROS);
+            }
+            target.put(ZEROS, 0, target.remaining());
+        } else {
+            Arrays.fill(data.array(), (byte) 0x00);
+        }
+        length = 0;
+    }
+
+    /**
+     * Returns a wiped buffer to service for reuse by BufferPool.
+     */
+    void rearm() {
+        length = 0;
+        valid = true;
+    }
+
+    /**
+     * Indicates whether the buffer is still valid.
+     *
+     * @return true if valid, false if wiped.
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Indicates whether the buffer is stored off-heap.
+     *
+     * @return true if backed by a direct buffer.
+     */
+    public boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * Returns the capacity of the buffer in bytes.
+     */
+    public int capacity() {
+        return data.capacity();
+    }
+}
@@ -0,0 +1,183 @@
+package com.ghosttech.blackout.engine;
+
+/**
+ * EngineConfig holds the immutable settings a BlackoutEngine is built with.
+ * Settings are fixed for the lifetime of the engine; no setting may relax
+ * the lifecycle, boundary, or teardown rules.
+ *
+ * Authoritative reference: Blackout Engine Logic Sheet (Daniel)
+ */
+public final class EngineConfig {
+
+    private final boolean offHeapBuffers;
+    private final int bufferPoolSlabsPerClass;
+    private final int bufferPoolMaxClassSize;
+    private final int streamChunkSize;
+    private final int maxSessions;
+    private final SignatureAlgorithm signatureAlgorithm;
+    private final AnomalyReporter anomalyReporter;
+
+    private EngineConfig(Builder builder) {
+        this.offHeapBuffers = builder.offHeapBuffers;
+        this.bufferPoolSlabsPerClass = builder.bufferPoolSlabsPerClass;
+        this.bufferPoolMaxClassSize = builder.bufferPoolMaxClassSize;
+        this.streamChunkSize = builder.streamChunkSize;
+        this.maxSessions = builder.maxSessions;
+        this.signatureAlgorithm = builder.signatureAlgorithm;
+        this.anomalyReporter = builder.anomalyReporter;
+    }
+
+    /**
+     * Returns the default configuration.
+     */
+    public static EngineConfig defaults() {
+        return new Builder().build();
+    }
+
+    /**
+     * Indicates whether classified buffers are allocated off-heap.
+     */
+    public boolean isOffHeapBuffers() {
+        return offHeapBuffers;
+    }
+
+    /**
+     * Returns the number of buffers retained per pool size class.
+     * Zero disables buffer pooling.
+     */
+    public int getBufferPoolSlabsPerClass() {
+        return bufferPoolSlabsPerClass;
+    }
+
+    /**
+     * Returns the largest buffer size, in bytes, that is pooled.
+     */
+    public int getBufferPoolMaxClassSize() {
+        return bufferPoolMaxClassSize;
+    }
+
+    /**
+     * Returns the size, in bytes, of the classified chunk buffer used by
+     * streaming execution.
+     */
+    public int getStreamChunkSize() {
+        return streamChunkSize;
+    }
+
+    /**
+     * Returns the maximum number of sessions that may be open at once,
+     * not counting the engine's own session.
+     */
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /**
+     * Returns the signature scheme the engine signs and verifies with.
+     */
+    public SignatureAlgorithm getSignatureAlgorithm() {
+        return signatureAlgorithm;
+    }
+
+    /**
+     * Returns where anomalies are reported.
+     */
+    public AnomalyReporter getAnomalyReporter() {
+        return anomalyReporter;
+    }
+
+    /**
+     * Builder for EngineConfig.
+     */
+    public static final class Builder {
+
+        private boolean offHeapBuffers = false;
+        private int bufferPoolSlabsPerClass = 4;
+        private int bufferPoolMaxClassSize = 64 * 1024;
+        private int streamChunkSize = 8 * 1024;
+        private int maxSessions = Runtime.getRuntime().availableProcessors();
+        private SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.RSA_SHA256;
+        private AnomalyReporter anomalyReporter = AnomalyReporter.DEFAULT;
+
+        /**
+         * Allocates classified buffers in direct (off-heap) memory.
+         */
+        public Builder offHeapBuffers(boolean offHeapBuffers) {
+            this.offHeapBuffers = offHeapBuffers;
+            return this;
+        }
+
+        /**
+         * Sets how many wiped buffers each pool size class retains.
+         * Zero disables buffer pooling.
+         */
+        public Builder bufferPoolSlabsPerClass(int slabs) {
+            if (slabs < 0) {
+                throw new IllegalArgumentException("Slab count must not be negative");
+            }
+            this.bufferPoolSlabsPerClass = slabs;
+            return this;
+        }
+
+        /**
+         * Sets the largest buffer size, in bytes, that is pooled.
+         */
+        public Builder bufferPoolMaxClassSize(int size) {
+            if (size <= 0) {
+                throw new IllegalArgumentException("Class size must be positive");
+            }
+            this.bufferPoolMaxClassSize = size;
+            return this;
+        }
+
+        /**
+         * Sets the size, in bytes, of the streaming chunk buffer.
+         */
+        public Builder streamChunkSize(int size) {
+            if (size <= 0) {
+                throw new IllegalArgumentException("Chunk size must be positive");
+            }
+            this.streamChunkSize = size;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of concurrently open sessions.
+         */
+        public Builder maxSessions(int maxSessions) {
+            if (maxSessions <= 0) {
+                throw new IllegalArgumentException("Session cap must be positive");
+            }
+            this.maxSessions = maxSessions;
+            return this;
+        }
+
+        /**
+         * Sets the signature scheme. Ephemeral keys handed to unlock() and
+         * the engine's public key must belong to this scheme.
+         */
+        public Builder signatureAlgorithm(SignatureAlgorithm signatureAlgorithm) {
+            if (signatureAlgorithm == null) {
+                throw new IllegalArgumentException("Signature algorithm required");
+            }
+            this.signatureAlgorithm = signatureAlgorithm;
+            return this;
+        }
+
+        /**
+         * Sets where anomalies are reported. Reporting is the only thing a
+         * reporter controls; lockdown on anomaly always happens.
+         */
+        public Builder anomalyReporter(AnomalyReporter anomalyReporter) {
+            if (anomalyReporter == null) {
+                throw new IllegalArgumentException("Anomaly reporter required");
+            }
+            this.anomalyReporter = anomalyReporter;
+            return this;
+        }
+
+        public EngineConfig build() {
+            return new EngineConfig(this);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.ghosttech.blackout.engine;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * EngineMetrics is the engine's on-device metrics registry: counters and
+ * per-phase latency histograms. Nothing is exported; read it through
+ * snapshot().
+ *
+ * Rules enforced:
+ *  - Recording is lock-free and allocates nothing.
+ *  - Metrics never hold classified data: only counts, sizes and times.
+ *
+ * Authoritative reference: Blackout Engine Logic Sheet (Daniel)
+ */
+public final class EngineMetrics {
+
+    /**
+     * Monotonic event counters.
+     */
+    public enum Counter {
+        STATE_TRANSITIONS,
+        PHASE_TRANSITIONS,
+        ANOMALIES,
+        TEARDOWNS,
+        BUFFER_BYTES_ALLOCATED,
+        BUFFER_BYTES_WIPED,
+        SIGN_CALLS,
+        VERIFY_CALLS
+    }
+
+    /**
+     * Latency histograms. UNLOCK, EXECUTE and ERASE record how long the
+     * lifecycle stayed in each phase; TEARDOWN records the full teardown.
+     */
+    public enum Timer {
+        UNLOCK,
+        EXECUTE,
+        ERASE,
+        TEARDOWN;
+
+        private static final Timer[] BY_PHASE = {UNLOCK, EXECUTE, ERASE};
+
+        static Timer forPhase(LifecyclePhase phase) {
+            return BY_PHASE[phase.ordinal()];
+        }
+    }
+
+    private static final Counter[] COUNTERS = Counter.values();
+    private static final Timer[] TIMERS = Timer.values();
+
+    private final AtomicLongArray counters = new AtomicLongArray(COUNTERS.length);
+    private final LatencyHistogram[] histograms = new LatencyHistogram[TIMERS.length];
+
+    public EngineMetrics() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Adds one to a counter.
+     */
+    public void increment(Counter counter) {
+        counters.incrementAndGet(counter.ordinal());
+    }
+
+    /**
+     * Adds an amount to a counter.
+     */
+    public void add(Counter counter, long amount) {
+        counters.addAndGet(counter.ordinal(), amount);
+    }
+
+    /**
+     * Records one latency sample.
+     */
+    public void record(Timer timer, long nanos) {
+        histograms[timer.ordinal()].record(nanos);
+    }
+
+    /**
+     * Returns an immutable copy of every counter and histogram.
+     */
+    public MetricsSnapshot snapshot() {
+        Map<Counter, Long> counterValues = new EnumMap<>(Counter.class);
+        for (Counter counter : COUNTERS) {
+            counterValues.put(counter, counters.get(counter.ordinal()));
+        }
+        Map<Timer, MetricsSnapshot.Histogram> timerValues = new EnumMap<>(Timer.class);
+        for (Timer timer : TIMERS) {
+            timerValues.put(timer, histograms[timer.ordinal()].snapshot());
+        }
+        return new MetricsSnapshot(counterValues, timerValues);
+    }
+}
@@ -0,0 +1,59 @@
+package com.ghosttech.blackout.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram is a fixed-bucket, lock-free latency recorder.
+ *
+ * Bucket i counts samples in [2^i, 2^(i+1)) nanoseconds; the last bucket
+ * also takes everything longer. record() is a handful of atomic adds
+ * and allocates nothing.
+ *
+ * Authoritative reference: Blackout Engine Logic Sheet (Daniel)
+ */
+final class LatencyHistogram {
+
+    // 2^40 ns is about 18 minutes.
+    static final int BUCKETS = 41;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one sample. Negative samples are recorded as zero.
+     */
+    void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.incrementAndGet(bucketOf(nanos));
+        count.incrementAndGet();
+        sum.addAndGet(nanos);
+        long seen;
+        while (nanos > (seen = max.get())) {
+            if (max.compareAndSet(seen, nanos)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Copies the current values. Samples recorded concurrently may be
+     * only partly reflected.
+     */
+    MetricsSnapshot.Histogram snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = buckets.get(i);
+        }
+        return new MetricsSnapshot.Histogram(copy, count.get(), sum.get(), max.get());
+    }
+
+    static int bucketOf(long nanos) {
+        int bucket = 63 - Long.numberOfLeadingZeros(nanos | 1);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+}
@@ -0,0 +1,188 @@
+package com.ghosttech.blackout.engine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MediationController routes all sensitive operations through a single,
+ * controlled execution path. It validates state transitions, lifecycle
+ * traversal, and boundary activation. Any illegal transition triggers
+ * anomaly handling.
+ *
+ * State and phase are packed into one word and updated with a
+ * compare-and-set loop, so every transition is atomic and lock-free.
+ * Losing a compare-and-set to a concurrent caller is itself an anomaly.
+ *
+ * Authoritative reference: Blackout Engine Logic Sheet (Daniel)
+ */
+public class MediationController {
+
+    private static final EngineState[] STATES = EngineState.values();
+    private static final LifecyclePhase[] PHASES = LifecyclePhase.values();
+
+    // Phase slot 0 means "no phase"; slot i + 1 holds PHASES[i].
+    private static final int PHASE_BITS = 8;
+    private static final int PHASE_MASK = (1 << PHASE_BITS) - 1;
+    private static final int NO_PHASE = 0;
+
+    private static final boolean[][] STATE_TRANSITIONS = buildStateTable();
+    private static final boolean[][] PHASE_TRANSITIONS = buildPhaseTable();
+
+    private final AtomicInteger word;
+    private final AnomalyHandler anomalyHandler;
+    private final EngineMetrics metrics;
+    private final long sessionId;
+    private volatile long phaseEnteredNanos;
+
+    public MediationController(AnomalyHandler anomalyHandler) {
+        this(anomalyHandler, new EngineMetrics(), AnomalyReporter.NO_SESSION);
+    }
+
+    /**
+     * @param metrics   Registry that receives transition counts, anomaly
+     *                  counts and per-phase latency.
+     * @param sessionId Session this controller mediates; tags its anomalies.
+     */
+    public MediationController(AnomalyHandler anomalyHandler, EngineMetrics metrics,
+                               long sessionId) {
+        this.word = new AtomicInteger(pack(EngineState.COLD.ordinal(), NO_PHASE));
+        this.anomalyHandler = anomalyHandler;
+        this.metrics = metrics;
+        this.sessionId = sessionId;
+    }
+
+    /**
+     * Attempts a state transition. Illegal transitions trigger anomaly handling.
+     *
+     * @param next The desired next state.
+     */
+    public void transitionState(EngineState next) {
+        int current = word.get();
+        EngineState from = STATES[stateOf(current)];
+        if (!STATE_TRANSITIONS[from.ordinal()][next.ordinal()]) {
+            anomaly(AnomalyCode.ILLEGAL_STATE_TRANSITION, from.ordinal(), next.ordinal());
+            return;
+        }
+        if (!word.compareAndSet(current, pack(next.ordinal(), phaseOf(current)))) {
+            anomaly(AnomalyCode.CONCURRENT_STATE_TRANSITION, from.ordinal(), next.ordinal());
+            return;
+        }
+        metrics.increment(EngineMetrics.Counter.STATE_TRANSITIONS);
+    }
+
+    /**
+     * Attempts a lifecycle transition. Illegal transitions trigger anomaly handling.
+     *
+     * @param next The desired next lifecycle phase.
+     */
+    public void transitionPhase(LifecyclePhase next) {
+        int current = word.get();
+        int from = phaseOf(current);
+        if (!PHASE_TRANSITIONS[from][next.ordinal()]) {
+            if (from == NO_PHASE) {
+                anomaly(AnomalyCode.LIFECYCLE_NOT_STARTED, AnomalyCode.NONE, next.ordinal());
+            } else {
+                anomaly(AnomalyCode.ILLEGAL_PHASE_TRANSITION, from - 1, next.ordinal());
+            }
+            return;
+        }
+        if (!word.compareAndSet(current, pack(stateOf(current), next.ordinal() + 1))) {
+            anomaly(AnomalyCode.CONCURRENT_PHASE_TRANSITION,
+                    from == NO_PHASE ? AnomalyCode.NONE : from - 1, next.ordinal());
+            return;
+        }
+        metrics.increment(EngineMetrics.Counter.PHASE_TRANSITIONS);
+        phaseEntered(from);
+    }
+
+    /**
+     * Returns the current engine state.
+     */
+    public EngineState getCurrentState() {
+        return STATES[stateOf(word.get())];
+    }
+
+    /**
+     * Returns the current lifecycle phase.
+     */
+    public LifecyclePhase getCurrentPhase() {
+        int phase = phaseOf(word.get());
+        return phase == NO_PHASE ? null : PHASES[phase - 1];
+    }
+
+    /**
+     * Resets lifecycle phase after teardown.
+     */
+    public void resetLifecycle() {
+        int current;
+        do {
+            current = word.get();
+        } while (!word.compareAndSet(current, pack(stateOf(current), NO_PHASE)));
+        phaseEntered(phaseOf(current));
+    }
+
+    /**
+     * Closes the latency sample of the phase being left, if any, and
+     * starts the next one.
+     */
+    private void phaseEntered(int leftPhase) {
+        long now = System.nanoTime();
+        if (leftPhase != NO_PHASE) {
+            metrics.record(EngineMetrics.Timer.forPhase(PHASES[leftPhase - 1]),
+                    now - phaseEnteredNanos);
+        }
+        phaseEnteredNanos = now;
+    }
+
+    /**
+     * Counts and reports an anomaly, then forces LOCKED. Allocates nothing.
+     */
+    private void anomaly(AnomalyCode code, int from, int to) {
+        metrics.increment(EngineMetrics.Counter.ANOMALIES);
+        anomalyHandler.handle(code, from, to, sessionId);
+        lockdown();
+    }
+
+    /**
+     * Forces LOCKED, keeping the current phase for teardown.
+     */
+    private void lockdown() {
+        int current;
+        do {
+            current = word.get();
+        } while (!word.compareAndSet(current, pack(EngineState.LOCKED.ordinal(), phaseOf(current))));
+    }
+
+    private static int pack(int state, int phase) {
+        return (state << PHASE_BITS) | phase;
+    }
+
+    private static int stateOf(int packed) {
+        return packed >>> PHASE_BITS;
+    }
+
+    private static int phaseOf(int packed) {
+        return packed & PHASE_MASK;
+    }
+
+    private static boolean[][] buildStateTable() {
+        boolean[][] table = new boolean[STATES.length][STATES.length];
+        for (EngineState from : STATES) {
+            for (EngineState to : STATES) {
+                table[from.ordinal()][to.ordinal()] = from.isValidTransition(to);
+            }
+        }
+        return table;
+    }
+
+    private static boolean[][] buildPhaseTable() {
+        boolean[][] table = new boolean[PHASES.length + 1][PHASES.length];
+        // First phase must be UNLOCK
+        table[NO_PHASE][LifecyclePhase.UNLOCK.ordinal()] = true;
+        for (LifecyclePhase from : PHASES) {
+            for (LifecyclePhase to : PHASES) {
+                table[from.ordinal() + 1][to.ordinal()] = from.isValidTransition(to);
+            }
+        }
+        return table;
+    }
+}
@@ -0,0 +1,129 @@
+package com.ghosttech.blackout.engine;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * MetricsSnapshot is an immutable copy of an EngineMetrics registry,
+ * for a debug screen or a test. Taking one allocates; recording does not.
+ *
+ * Authoritative reference: Blackout Engine Logic Sheet (Daniel)
+ */
+public final class MetricsSnapshot {
+
+    private final Map<EngineMetrics.Counter, Long> counters;
+    private final Map<EngineMetrics.Timer, Histogram> timers;
+
+    MetricsSnapshot(Map<EngineMetrics.Counter, Long> counters,
+                    Map<EngineMetrics.Timer, Histogram> timers) {
+        this.counters = new EnumMap<>(counters);
+        this.timers = new EnumMap<>(timers);
+    }
+
+    /**
+     * Returns the value of a counter.
+     */
+    public long getCount(EngineMetrics.Counter counter) {
+        return counters.get(counter);
+    }
+
+    /**
+     * Returns the latency histogram of a timer.
+     */
+    public Histogram getHistogram(EngineMetrics.Timer timer) {
+        return timers.get(timer);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<EngineMetrics.Counter, Long> entry : counters.entrySet()) {
+            out.append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+        }
+        for (Map.Entry<EngineMetrics.Timer, Histogram> entry : timers.entrySet()) {
+            out.append(entry.getKey()).append(": ").append(entry.getValue()).append('\n');
+        }
+        return out.toString();
+    }
+
+    /**
+     * Copy of one latency histogram. Bucket i counts samples in
+     * [2^i, 2^(i+1)) nanoseconds.
+     */
+    public static final class Histogram {
+
+        private final long[] buckets;
+        private final long count;
+        private final long sumNanos;
+        private final long maxNanos;
+
+        Histogram(long[] buckets, long count, long sumNanos, long maxNanos) {
+            this.buckets = buckets;
+            this.count = count;
+            this.sumNanos = sumNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public long getMeanNanos() {
+            return count == 0 ? 0 : sumNanos / count;
+        }
+
+        /**
+         * Returns the number of samples in one bucket.
+         */
+        public long getBucket(int bucket) {
+            return buckets[bucket];
+        }
+
+        /**
+         * Returns the number of buckets.
+         */
+        public int getBucketCount() {
+            return buckets.length;
+        }
+
+        /**
+         * Returns an upper bound on the given quantile: the top of the
+         * bucket it falls in, capped at the observed maximum.
+         *
+         * @param quantile Between 0 and 1, e.g. 0.95.
+         */
+        public long getQuantileNanos(double quantile) {
+            long total = 0;
+            for (long bucket : buckets) {
+                total += bucket;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * total);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return i == buckets.length - 1
+                            ? maxNanos
+                            : Math.min((1L << (i + 1)) - 1, maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + count
+                    + " mean=" + getMeanNanos() / 1000 + "us"
+                    + " p50=" + getQuantileNanos(0.50) / 1000 + "us"
+                    + " p99=" + getQuantileNanos(0.99) / 1000 + "us"
+                    + " max=" + maxNanos / 1000 + "us";
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.ghosttech.blackout.engine;
+
+import java.nio.ByteBuffer;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * SecurityController manages ephemeral key material for the Blackout engine.
+ *
+ * Rules enforced:
+ *  - Private keys exist ONLY during ACTIVE state.
+ *  - Keys must be destroyed during ERASE.
+ *  - Verification uses public key only.
+ *  - No persistence, no caching, no external references.
+ *  - The armed signing context lives only as long as the ephemeral key.
+ *
+ * Authoritative reference: Blackout Engine Logic Sheet (Daniel)
+ */
+public class SecurityController {
+
+    private final SignatureAlgorithm algorithm;
+    private PrivateKey ephemeralPrivateKey;
+    private PublicKey publicKey;
+
+    // Signing context: initialized once per ACTIVE session, re-armed by sign().
+    private Signature signer;
+
+    // Reused transfer array for direct buffers the provider cannot read in place.
+    private final byte[] scratch = new byte[512];
+
+    // One verifier per thread, bound to the public key.
+    private final ThreadLocal<Signature> verifier = new ThreadLocal<>();
+
+    private final EngineMetrics metrics;
+
+    public SecurityController(PublicKey publicKey) {
+        this(publicKey, SignatureAlgorithm.RSA_SHA256);
+    }
+
+    public SecurityController(PublicKey publicKey, SignatureAlgorithm algorithm) {
+        this(publicKey, algorithm, new EngineMetrics());
+    }
+
+    /**
+     * @param metrics Registry that receives sign and verify call counts.
+     */
+    public SecurityController(PublicKey publicKey, SignatureAlgorithm algorithm,
+                              EngineMetrics metrics) {
+        this.publicKey = publicKey;
+        this.algorithm = algorithm;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the signature scheme this controller signs and verifies with.
+     */
+    public SignatureAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Loads ephemeral private key material.
+     * Called during UNLOCK → ACTIVE transition.
+     */
+    public void loadEphemeralKey(PrivateKey privateKey) {
+        this.ephemeralPrivateKey = privateKey;
+        this.signer = null;
+    }
+
+    /**
+     * Signs data using the ephemeral private key.
+     *
+     * @param data The data to sign.
+     * @return Signature bytes.
+     */
+    public byte[] sign(byte[] data) throws Exception {
+        return sign(ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Signs the remaining bytes of a buffer using the ephemeral private key.
+     * Accepts ClassifiedBuffer views directly, so no heap copy is made.
+     *
+     * @param data The data to sign; its position is advanced to the limit.
+     * @return Signature bytes.
+     */
+    public byte[] sign(ByteBuffer data) throws Exception {
+        Signature signature = armedSigner();
+        metrics.increment(EngineMetrics.Counter.SIGN_CALLS);
+
+        try {
+            // sign() resets the engine to its initialized state for the next call.
+            update(signature, data);
+            return signature.sign();
+        } catch (Exception e) {
+            // A failed operation leaves the engine in an unknown state.
+            signer = null;
+            throw e;
+        }
+    }
+
+    /**
+     * Feeds one chunk of a streamed message into the signing context.
+     * Finish with signFinal(), or abortSign() if the stream fails.
+     *
+     * @param chunk The next bytes of the message; its position is advanced to the limit.
+     */
+    public void signUpdate(ByteBuffer chunk) throws Exception {
+        Signature signature = armedSigner();
+
+        try {
+            update(signature, chunk);
+        } catch (Exception e) {
+            signer = null;
+            throw e;
+        }
+    }
+
+    /**
+     * Completes a streamed signature started with signUpdate().
+     *
+     * @return Signature bytes.
+     */
+    public byte[] signFinal() throws Exception {
+        Signature signature = armedSigner();
+        metrics.increment(EngineMetrics.Counter.SIGN_CALLS);
+
+        try {
+            return signature.sign();
+        } catch (Exception e) {
+            signer = null;
+            throw e;
+        }
+    }
+
+    /**
+     * Discards a partially streamed message. The signing context is
+     * re-initialized on the next operation.
+     */
+    public void abortSign() {
+        signer = null;
+    }
+
+    /**
+     * Feeds a buffer to the signer without leaving copies behind. Heap
+     * buffers and direct buffers given to the platform provider are read
+     * in place. Any other provider would copy a direct buffer through a
+     * fresh heap array it never wipes, so the bytes go through the reused
+     * scratch array instead, which is zeroed afterwards.
+     */
+    private void update(Signature signature, ByteBuffer data) throws SignatureException {
+        if (!data.isDirect() || SignatureAlgorithm.PREFERRED_PROVIDER.equals(
+                signature.getProvider().getName())) {
+            signature.update(data);
+            return;
+        }
+        try {
+            while (data.hasRemaining()) {
+                int n = Math.min(scratch.length, data.remaining());
+                data.get(scratch, 0, n);
+                signature.update(scratch, 0, n);
+            }
+        } finally {
+            Arrays.fill(scratch, (byte) 0x00);
+        }
+    }
+
+    /**
+     * Returns the signing context, initializing it on first use in the session.
+     */
+    private Signature armedSigner() throws Exception {
+        if (ephemeralPrivateKey == null) {
+            throw new IllegalStateException("Ephemeral private key not loaded");
+        }
+
+        if (signer == null) {
+            Signature signature = algorithm.newSignature();
+            signature.initSign(ephemeralPrivateKey);
+            signer = signature;
+        }
+        return signer;
+    }
+
+    /**
+     * Verifies a signature using the public key.
+     *
+     * @param data The original data.
+     * @param sig  The signature to verify.
+     * @return true if valid, false otherwise.
+     */
+    public boolean verify(byte[] data, byte[] sig) throws Exception {
+        metrics.increment(EngineMetrics.Counter.VERIFY_CALLS);
+        Signature signature = verifier.get();
+        if (signature == null) {
+            signature = algorithm.newSignature();
+            signature.initVerify(publicKey);
+            verifier.set(signature);
+        }
+
+        try {
+            // verify() resets the engine to its initialized state for the next call.
+            signature.update(data);
+            return signature.verify(sig);
+        } catch (Exception e) {
+            verifier.remove();
+            throw e;
+        }
+    }
+
+    /**
+     * Verifies a batch of (data, signature) pairs in parallel on the common
+     * fork-join pool. See {@link #verifyAll(List, List, boolean, ForkJoinPool)}.
+     */
+    public BitSet verifyAll(List<byte[]> data, List<byte[]> sigs, boolean stopOnFailure) {
+        return verifyAll(data, sigs, stopOnFailure, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Verifies a batch of (data, signature) pairs in parallel.
+     * Work is split into 64-pair ranges across the pool; each worker
+     * thread uses its own verifier bound to the public key. A malformed
+     * signature counts as a failed verification.
+     *
+     * @param data          Original data items.
+     * @param sigs          Signatures, one per data item.
+     * @param stopOnFailure If true, stop scheduling work at the first failure;
+     *                      pairs not reached are left clear.
+     * @param pool          Pool to run the verification on.
+     * @return Bitmap with bit i set if pair i verified; empty for an empty batch.
+     * @throws IllegalArgumentException if the two lists differ in size.
+     */
+    public BitSet verifyAll(List<byte[]> data, List<byte[]> sigs, boolean stopOnFailure,
+                            ForkJoinPool pool) {
+        if (data.size() != sigs.size()) {
+            throw new IllegalArgumentException("Data and signature counts differ");
+        }
+        if (data.isEmpty()) {
+            return new BitSet();
+        }
+        long[] words = new long[(data.size() + 63) >>> 6];
+        pool.invoke(new VerifyRange(data, sigs, words, 0, words.length,
+                stopOnFailure ? new AtomicBoolean() : null));
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Verifies the pairs covered by a range of bitmap words. Each leaf owns
+     * its words outright, so no synchronization is needed on the bitmap.
+     */
+    private final class VerifyRange extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<byte[]> data;
+        private final List<byte[]> sigs;
+        private final long[] words;
+        private final int fromWord;
+        private final int toWord;
+        private final AtomicBoolean failed;
+
+        VerifyRange(List<byte[]> data, List<byte[]> sigs, long[] words,
+                    int fromWord, int toWord, AtomicBoolean failed) {
+            this.data = data;
+            this.sigs = sigs;
+            this.words = words;
+            this.fromWord = fromWord;
+            this.toWord = toWord;
+            this.failed = failed;
+        }
+
+        @Override
+        protected void compute() {
+            if (toWord - fromWord > 1) {
+                int mid = (fromWord + toWord) >>> 1;
+                invokeAll(new VerifyRange(data, sigs, words, fromWord, mid, failed),
+                        new VerifyRange(data, sigs, words, mid, toWord, failed));
+                return;
+            }
+
+            int end = Math.min(data.size(), (fromWord + 1) << 6);
+            long bits = 0;
+            for (int i = fromWord << 6; i < end; i++) {
+                if (failed != null && failed.get()) {
+                    break;
+                }
+                if (verifyQuietly(data.get(i), sigs.get(i))) {
+                    bits |= 1L << (i & 63);
+                } else if (failed != null) {
+                    failed.set(true);
+                }
+            }
+            words[fromWord] = bits;
+        }
+    }
+
+    private boolean verifyQuietly(byte[] item, byte[] sig) {
+        try {
+            return verify(item, sig);
+        } catch (SignatureException e) {
+            return false;
+        } catch (Exception e) {
+            throw new RuntimeException("Verification failed", e);
+        }
+    }
+
+    /**
+     * Destroys ephemeral private key material and releases the signing
+     * context that holds it.
+     * Called during ERASE → COLD transition.
+     */
+    public void destroyEphemeralKey() {
+        signer = null;
+        if (ephemeralPrivateKey != null) {
+            // JVM cannot wipe key material, but we can drop references.
+            ephemeralPrivateKey = null;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.ghosttech.blackout.engine;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.NoSuchProviderException;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+
+/**
+ * SignatureAlgorithm defines the signature schemes the Blackout engine
+ * can sign and verify with.
+ *
+ * RSA_SHA256  - RSA-2048 PKCS#1 v1.5 over SHA-256. Default; widest support.
+ * ECDSA_P256  - ECDSA over NIST P-256 with SHA-256. Much faster private-key
+ *               operations and ~72-byte signatures.
+ * ED25519     - EdDSA over Curve25519. Fast, deterministic, 64-byte
+ *               signatures; needs a provider that ships it.
+ *
+ * Each scheme carries a stable wire id for envelopes. Provider lookup
+ * prefers the platform's Conscrypt provider and falls back to any
+ * installed provider and to alternative algorithm names.
+ *
+ * Authoritative reference: Blackout Engine Logic Sheet (Daniel)
+ */
+public enum SignatureAlgorithm {
+
+    RSA_SHA256(1, "RSA", new String[] {"SHA256withRSA"}),
+    ECDSA_P256(2, "EC", new String[] {"SHA256withECDSA"}),
+    ED25519(3, "Ed25519", new String[] {"Ed25519", "EdDSA"});
+
+    static final String PREFERRED_PROVIDER = "AndroidOpenSSL";
+
+    private final int wireId;
+    private final String keyAlgorithm;
+    private final String[] signatureNames;
+
+    SignatureAlgorithm(int wireId, String keyAlgorithm, String[] signatureNames) {
+        this.wireId = wireId;
+        this.keyAlgorithm = keyAlgorithm;
+        this.signatureNames = signatureNames;
+    }
+
+    /**
+     * Returns the id that identifies this scheme on the wire.
+     */
+    public int getWireId() {
+        return wireId;
+    }
+
+    /**
+     * Returns the JCA key algorithm name (KeyFactory, KeyPairGenerator).
+     */
+    public String getKeyAlgorithm() {
+        return keyAlgorithm;
+    }
+
+    /**
+     * Returns an uninitialized Signature engine for this scheme.
+     *
+     * @throws NoSuchAlgorithmException if no installed provider supports it.
+     */
+    public Signature newSignature() throws NoSuchAlgorithmException {
+        NoSuchAlgorithmException lastFailure = null;
+        for (String name : signatureNames) {
+            try {
+                return Signature.getInstance(name, PREFERRED_PROVIDER);
+            } catch (NoSuchAlgorithmException | NoSuchProviderException e) {
+                // fall through to any provider
+            }
+            try {
+                return Signature.getInstance(name);
+            } catch (NoSuchAlgorithmException e) {
+                lastFailure = e;
+            }
+        }
+        throw lastFailure;
+    }
+
+    /**
+     * Returns a key pair generator initialized for this scheme. Like
+     * {@link #newSignature()}, it prefers the platform provider and falls
+     * back to any installed provider, including when the preferred one
+     * rejects the key parameters.
+     *
+     * @throws GeneralSecurityException if no installed provider supports it.
+     */
+    public KeyPairGenerator newKeyPairGenerator() throws GeneralSecurityException {
+        try {
+            return initialize(KeyPairGenerator.getInstance(keyAlgorithm, PREFERRED_PROVIDER));
+        } catch (GeneralSecurityException e) {
+            // fall through to any provider
+        }
+        return initialize(KeyPairGenerator.getInstance(keyAlgorithm));
+    }
+
+    private KeyPairGenerator initialize(KeyPairGenerator generator)
+            throws GeneralSecurityException {
+        switch (this) {
+            case RSA_SHA256:
+                generator.initialize(2048);
+                break;
+            case ECDSA_P256:
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                break;
+            default:
+                // Ed25519 has a single fixed parameter set.
+                break;
+        }
+        return generator;
+    }
+
+    /**
+     * Returns the scheme with the given wire id.
+     *
+     * @throws IllegalArgumentException if the id is unknown.
+     */
+    public static SignatureAlgorithm fromWireId(int wireId) {
+        for (SignatureAlgorithm algorithm : values()) {
+            if (algorithm.wireId == wireId) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Unknown signature algorithm id: " + wireId);
+    }
+}
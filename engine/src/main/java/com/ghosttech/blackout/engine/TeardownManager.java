@@ -19,15 +19,29 @@ public class TeardownManager {
     private final Boundary boundary;
     private final SecurityController securityController;
     private final MediationController mediationController;
+    private final EngineMetrics metrics;
 
     public TeardownManager(
             Boundary boundary,
             SecurityController securityController,
             MediationController mediationController
+    ) {
+        this(boundary, securityController, mediationController, new EngineMetrics());
+    }
+
+    /**
+     * @param metrics Registry that receives teardown counts and latency.
+     */
+    public TeardownManager(
+            Boundary boundary,
+            SecurityController securityController,
+            MediationController mediationController,
+            EngineMetrics metrics
     ) {
         this.boundary = boundary;
         this.securityController = securityController;
         this.mediationController = mediationController;
+        this.metrics = metrics;
     }
 
     /**
@@ -39,7 +53,9 @@ public class TeardownManager {
      *  - Return engine to COLD
      */
     public void teardown() {
-        // 1. Destroy ephemeral key material
+        long start = System.nanoTime();
+
+        // 1. Destroy ephemeral key material and signing context
         securityController.destroyEphemeralKey();
 
         // 2. Wipe classified buffers and deactivate boundary
@@ -50,5 +66,8 @@ public class TeardownManager {
 
         // 4. Return engine to COLD
         mediationController.transitionState(EngineState.COLD);
+
+        metrics.increment(EngineMetrics.Counter.TEARDOWNS);
+        metrics.record(EngineMetrics.Timer.TEARDOWN, System.nanoTime() - start);
     }
 }
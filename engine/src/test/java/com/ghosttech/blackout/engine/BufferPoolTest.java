@@ -0,0 +1,108 @@
+package com.ghosttech.blackout.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BufferPoolTest {
+
+    private BufferPool pool;
+
+    @Before
+    public void setUp() {
+        pool = new BufferPool(false, 2, 1024);
+    }
+
+    @Test
+    public void sizesRoundUpToPowerOfTwoClasses() {
+        assertEquals(64, pool.acquire(1).capacity());
+        assertEquals(128, pool.acquire(65).capacity());
+        assertEquals(1024, pool.acquire(1024).capacity());
+    }
+
+    @Test
+    public void releasedBufferIsWipedThenReused() {
+        ClassifiedBuffer buffer = pool.acquire(100);
+        byte[] secret = new byte[buffer.capacity()];
+        Arrays.fill(secret, (byte) 0x5A);
+        buffer.write(secret);
+        // Shares storage with the buffer, so it observes the wipe.
+        ByteBuffer view = buffer.view();
+
+        pool.release(buffer);
+
+        assertFalse(buffer.isValid());
+        assertZeroed(view);
+
+        ClassifiedBuffer reused = pool.acquire(100);
+        assertSame(buffer, reused);
+        assertTrue(reused.isValid());
+        assertEquals(0, reused.read().length);
+        assertEquals(1, pool.getHits());
+        assertEquals(1, pool.getMisses());
+    }
+
+    @Test
+    public void oversizedBuffersAreNeverPooled() {
+        ClassifiedBuffer buffer = pool.acquire(2000);
+        assertEquals(2000, buffer.capacity());
+
+        pool.release(buffer);
+
+        assertFalse(buffer.isValid());
+        assertNotSame(buffer, pool.acquire(2000));
+        assertEquals(0, pool.getHits());
+        assertEquals(2, pool.getMisses());
+    }
+
+    @Test
+    public void eachClassRetainsAtMostSlabsPerClass() {
+        ClassifiedBuffer[] buffers = {pool.acquire(64), pool.acquire(64), pool.acquire(64)};
+        for (ClassifiedBuffer buffer : buffers) {
+            pool.release(buffer);
+        }
+
+        pool.acquire(64);
+        pool.acquire(64);
+        pool.acquire(64);
+
+        assertEquals(2, pool.getHits());
+        assertEquals(4, pool.getMisses());
+    }
+
+    @Test
+    public void foreignBuffersAreWipedButNotRetained() {
+        ClassifiedBuffer direct = new ClassifiedBuffer(64, true);
+        direct.write(new byte[] {1, 2, 3});
+
+        pool.release(direct);
+
+        assertFalse(direct.isValid());
+        assertNotSame(direct, pool.acquire(64));
+        assertEquals(0, pool.getHits());
+    }
+
+    @Test
+    public void drainDropsRetainedBuffers() {
+        ClassifiedBuffer buffer = pool.acquire(64);
+        pool.release(buffer);
+
+        pool.drain();
+
+        assertNotSame(buffer, pool.acquire(64));
+        assertEquals(0, pool.getHits());
+    }
+
+    private static void assertZeroed(ByteBuffer view) {
+        while (view.hasRemaining()) {
+            assertEquals(0, view.get());
+        }
+    }
+}
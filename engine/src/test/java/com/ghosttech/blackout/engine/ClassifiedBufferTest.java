@@ -0,0 +1,68 @@
+package com.ghosttech.blackout.engine;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
+import org.junit.Test;
+
+public class ClassifiedBufferTest {
+
+    @Test
+    public void channelFillStopsWhenAReadReturnsNothing() throws IOException {
+        ClassifiedBuffer buffer = new ClassifiedBuffer(16);
+
+        // Three bytes, then no more for now; a spinning fill never returns.
+        assertEquals(3, buffer.fill(new TrickleChannel(new byte[] {1, 2, 3})));
+        assertArrayEquals(new byte[] {1, 2, 3}, buffer.read());
+    }
+
+    @Test
+    public void nonBlockingChannelIsRejected() throws IOException {
+        Pipe pipe = Pipe.open();
+        try {
+            pipe.source().configureBlocking(false);
+            ClassifiedBuffer buffer = new ClassifiedBuffer(16);
+
+            assertThrows(IllegalArgumentException.class, () -> buffer.fill(pipe.source()));
+        } finally {
+            pipe.source().close();
+            pipe.sink().close();
+        }
+    }
+
+    /**
+     * Hands out its bytes once, then reports no bytes available without
+     * ever reaching end of stream, like an idle non-blocking channel.
+     */
+    private static final class TrickleChannel implements ReadableByteChannel {
+
+        private final ByteBuffer pending;
+
+        TrickleChannel(byte[] bytes) {
+            this.pending = ByteBuffer.wrap(bytes);
+        }
+
+        @Override
+        public int read(ByteBuffer target) {
+            int count = Math.min(pending.remaining(), target.remaining());
+            for (int i = 0; i < count; i++) {
+                target.put(pending.get());
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
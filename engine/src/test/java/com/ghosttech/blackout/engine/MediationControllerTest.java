@@ -0,0 +1,206 @@
+package com.ghosttech.blackout.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MediationControllerTest {
+
+    private static final long SESSION = 7;
+
+    private RecordingReporter reporter;
+    private MediationController controller;
+
+    @Before
+    public void setUp() {
+        reporter = new RecordingReporter();
+        controller = new MediationController(new AnomalyHandler(reporter),
+                new EngineMetrics(), SESSION);
+    }
+
+    @Test
+    public void fullLifecycleRaisesNoAnomaly() {
+        controller.transitionState(EngineState.ACTIVE);
+        controller.transitionPhase(LifecyclePhase.UNLOCK);
+        controller.transitionPhase(LifecyclePhase.EXECUTE);
+        controller.transitionPhase(LifecyclePhase.ERASE);
+        controller.transitionState(EngineState.COLD);
+        controller.resetLifecycle();
+
+        assertEquals(EngineState.COLD, controller.getCurrentState());
+        assertNull(controller.getCurrentPhase());
+        assertTrue(reporter.records.isEmpty());
+    }
+
+    @Test
+    public void stateChangeKeepsThePhase() {
+        controller.transitionState(EngineState.ACTIVE);
+        controller.transitionPhase(LifecyclePhase.UNLOCK);
+
+        controller.transitionState(EngineState.LOCKED);
+
+        assertEquals(EngineState.LOCKED, controller.getCurrentState());
+        assertEquals(LifecyclePhase.UNLOCK, controller.getCurrentPhase());
+        assertTrue(reporter.records.isEmpty());
+    }
+
+    @Test
+    public void illegalStateTransitionLocks() {
+        controller.transitionState(EngineState.TEARDOWN);
+
+        assertEquals(EngineState.LOCKED, controller.getCurrentState());
+        reporter.assertOnly(AnomalyCode.ILLEGAL_STATE_TRANSITION,
+                EngineState.COLD.ordinal(), EngineState.TEARDOWN.ordinal());
+    }
+
+    @Test
+    public void phaseBeforeUnlockLocks() {
+        controller.transitionState(EngineState.ACTIVE);
+
+        controller.transitionPhase(LifecyclePhase.EXECUTE);
+
+        assertEquals(EngineState.LOCKED, controller.getCurrentState());
+        assertNull(controller.getCurrentPhase());
+        reporter.assertOnly(AnomalyCode.LIFECYCLE_NOT_STARTED,
+                AnomalyCode.NONE, LifecyclePhase.EXECUTE.ordinal());
+    }
+
+    @Test
+    public void skippedPhaseLocksAndKeepsThePhaseForTeardown() {
+        controller.transitionState(EngineState.ACTIVE);
+        controller.transitionPhase(LifecyclePhase.UNLOCK);
+
+        controller.transitionPhase(LifecyclePhase.ERASE);
+
+        assertEquals(EngineState.LOCKED, controller.getCurrentState());
+        assertEquals(LifecyclePhase.UNLOCK, controller.getCurrentPhase());
+        reporter.assertOnly(AnomalyCode.ILLEGAL_PHASE_TRANSITION,
+                LifecyclePhase.UNLOCK.ordinal(), LifecyclePhase.ERASE.ordinal());
+    }
+
+    @Test
+    public void resetLifecycleClearsOnlyThePhase() {
+        controller.transitionState(EngineState.ACTIVE);
+        controller.transitionPhase(LifecyclePhase.UNLOCK);
+        controller.transitionPhase(LifecyclePhase.EXECUTE);
+
+        controller.resetLifecycle();
+
+        assertEquals(EngineState.ACTIVE, controller.getCurrentState());
+        assertNull(controller.getCurrentPhase());
+        controller.transitionPhase(LifecyclePhase.UNLOCK);
+        assertEquals(LifecyclePhase.UNLOCK, controller.getCurrentPhase());
+        assertTrue(reporter.records.isEmpty());
+    }
+
+    @Test
+    public void racingStateTransitionsAdmitExactlyOne() throws Exception {
+        int threads = 8;
+        CyclicBarrier start = new CyclicBarrier(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                try {
+                    start.await();
+                    controller.transitionState(EngineState.ACTIVE);
+                } catch (Exception e) {
+                    throw new AssertionError(e);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        // The winner moves COLD → ACTIVE; every loser either loses the CAS
+        // or finds the state already moved, and each one locks down.
+        assertEquals(EngineState.LOCKED, controller.getCurrentState());
+        List<Record> records = reporter.snapshot();
+        assertEquals(threads - 1, records.size());
+        for (Record record : records) {
+            assertTrue(record.code == AnomalyCode.CONCURRENT_STATE_TRANSITION
+                    || record.code == AnomalyCode.ILLEGAL_STATE_TRANSITION);
+            assertEquals(EngineState.ACTIVE.ordinal(), record.to);
+            assertEquals(SESSION, record.sessionId);
+        }
+    }
+
+    @Test
+    public void racingPhaseTransitionsAdmitExactlyOne() throws Exception {
+        controller.transitionState(EngineState.ACTIVE);
+        int threads = 8;
+        CyclicBarrier start = new CyclicBarrier(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                try {
+                    start.await();
+                    controller.transitionPhase(LifecyclePhase.UNLOCK);
+                } catch (Exception e) {
+                    throw new AssertionError(e);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        assertEquals(EngineState.LOCKED, controller.getCurrentState());
+        assertEquals(LifecyclePhase.UNLOCK, controller.getCurrentPhase());
+        List<Record> records = reporter.snapshot();
+        assertEquals(threads - 1, records.size());
+        for (Record record : records) {
+            assertTrue(record.code == AnomalyCode.CONCURRENT_PHASE_TRANSITION
+                    || record.code == AnomalyCode.ILLEGAL_PHASE_TRANSITION);
+            assertEquals(LifecyclePhase.UNLOCK.ordinal(), record.to);
+        }
+    }
+
+    private static final class Record {
+
+        final AnomalyCode code;
+        final int from;
+        final int to;
+        final long sessionId;
+
+        Record(AnomalyCode code, int from, int to, long sessionId) {
+            this.code = code;
+            this.from = from;
+            this.to = to;
+            this.sessionId = sessionId;
+        }
+    }
+
+    private static final class RecordingReporter implements AnomalyReporter {
+
+        final List<Record> records = new ArrayList<>();
+
+        @Override
+        public synchronized void report(AnomalyCode code, int from, int to,
+                                        long timestampNanos, long sessionId) {
+            records.add(new Record(code, from, to, sessionId));
+        }
+
+        synchronized List<Record> snapshot() {
+            return new ArrayList<>(records);
+        }
+
+        synchronized void assertOnly(AnomalyCode code, int from, int to) {
+            assertEquals(1, records.size());
+            Record record = records.get(0);
+            assertSame(code, record.code);
+            assertEquals(from, record.from);
+            assertEquals(to, record.to);
+            assertEquals(SESSION, record.sessionId);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.ghosttech.blackout.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SecurityControllerTest {
+
+    // Spans several 64-pair words, so verifyAll splits the batch.
+    private static final int BATCH = 200;
+
+    private static SecurityController controller;
+    private static List<byte[]> data;
+    private static List<byte[]> sigs;
+
+    private ForkJoinPool pool;
+
+    @BeforeClass
+    public static void signBatch() throws Exception {
+        KeyPair pair = SignatureAlgorithm.RSA_SHA256.newKeyPairGenerator().generateKeyPair();
+        controller = new SecurityController(pair.getPublic(), SignatureAlgorithm.RSA_SHA256);
+        controller.loadEphemeralKey(pair.getPrivate());
+        data = new ArrayList<>(BATCH);
+        sigs = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            byte[] item = ("item-" + i).getBytes(StandardCharsets.UTF_8);
+            data.add(item);
+            sigs.add(controller.sign(item));
+        }
+    }
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void emptyBatchReturnsEmptyBitmap() {
+        BitSet result = controller.verifyAll(Collections.<byte[]>emptyList(),
+                Collections.<byte[]>emptyList(), false, pool);
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void mismatchedCountsAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> controller.verifyAll(data, sigs.subList(0, BATCH - 1), false, pool));
+    }
+
+    @Test
+    public void everyPairIsVerifiedAcrossWordBoundaries() {
+        int[] bad = {0, 63, 64, 127, 128, BATCH - 1};
+        List<byte[]> tampered = new ArrayList<>(sigs);
+        for (int index : bad) {
+            tampered.set(index, sigs.get((index + 1) % BATCH));
+        }
+
+        BitSet result = controller.verifyAll(data, tampered, false, pool);
+
+        assertEquals(BATCH - bad.length, result.cardinality());
+        for (int index : bad) {
+            assertFalse(result.get(index));
+        }
+        assertTrue(result.get(1));
+        assertTrue(result.get(65));
+        assertTrue(result.get(BATCH - 2));
+    }
+
+    @Test
+    public void malformedSignatureCountsAsFailure() {
+        List<byte[]> tampered = new ArrayList<>(sigs);
+        tampered.set(70, new byte[] {1, 2, 3});
+
+        BitSet result = controller.verifyAll(data, tampered, false, pool);
+
+        assertEquals(BATCH - 1, result.cardinality());
+        assertFalse(result.get(70));
+    }
+
+    @Test
+    public void stopOnFailureLeavesUnreachedPairsClear() {
+        List<byte[]> tampered = new ArrayList<>(sigs);
+        tampered.set(0, new byte[] {0});
+
+        // One worker walks the ranges in order, so the failure at 0 is seen first.
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            assertTrue(controller.verifyAll(data, tampered, true, single).isEmpty());
+        } finally {
+            single.shutdown();
+        }
+
+        BitSet parallel = controller.verifyAll(data, tampered, true, pool);
+        assertFalse(parallel.get(0));
+        assertTrue(parallel.cardinality() < BATCH);
+    }
+}
@@ -0,0 +1,88 @@
+package com.ghosttech.blackout.assets;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Panel asset load time.
+ *
+ * The Source is in memory and holds a panel's HTML both plain and as
+ * its build-time .gz variant, so the numbers isolate what the cache
+ * saves, without disk noise. uncachedRead and uncachedGzipRead load the
+ * asset on every call (zero-byte budget), as a panel switch does
+ * without the cache; uncachedGzipRead includes the gzip decode the APK's
+ * packaging requires. cachedHit is a panel switch once the asset is
+ * cached. Compare ops/ms and gc.alloc.rate.norm.
+ */
+@State(Scope.Thread)
+public class AssetCacheBenchmark {
+
+    private static final String PANEL = "panel.html";
+
+    @Param({"65536"})
+    public int assetBytes;
+
+    private AssetCache uncached;
+    private AssetCache uncachedGzip;
+    private AssetCache cached;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder html = new StringBuilder(assetBytes);
+        for (int i = 0; html.length() < assetBytes; i++) {
+            html.append("<div class=\"row\"><span>item ").append(i).append("</span></div>\n");
+        }
+        byte[] content = html.toString().getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(content);
+        }
+
+        Map<String, byte[]> plain = new HashMap<>();
+        plain.put(PANEL, content);
+        Map<String, byte[]> packaged = new HashMap<>();
+        packaged.put(PANEL + ".gz", gzipped.toByteArray());
+
+        uncached = new AssetCache(source(plain), 0);
+        uncachedGzip = new AssetCache(source(packaged), 0);
+        cached = new AssetCache(source(packaged), 1 << 20);
+        cached.preload(PANEL);
+    }
+
+    @Benchmark
+    public byte[] uncachedRead() throws IOException {
+        return uncached.get(PANEL);
+    }
+
+    @Benchmark
+    public byte[] uncachedGzipRead() throws IOException {
+        return uncachedGzip.get(PANEL);
+    }
+
+    @Benchmark
+    public byte[] cachedHit() throws IOException {
+        return cached.get(PANEL);
+    }
+
+    private static AssetCache.Source source(Map<String, byte[]> files) {
+        return path -> {
+            byte[] content = files.get(path);
+            if (content == null) {
+                throw new FileNotFoundException(path);
+            }
+            return new ByteArrayInputStream(content);
+        };
+    }
+}
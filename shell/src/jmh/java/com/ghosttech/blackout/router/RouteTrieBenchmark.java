@@ -0,0 +1,72 @@
+package com.ghosttech.blackout.router;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Route dispatch cost over a table of a few hundred routes.
+ *
+ * trieLookup resolves a mix of exact hits, prefix hits and misses
+ * straight from the raw endpoint strings. normalizeAndHash is the
+ * baseline it replaces: trim the slashes into a new String, then look
+ * it up in a HashMap. Compare ns/op and gc.alloc.rate.norm.
+ */
+@State(Scope.Thread)
+public class RouteTrieBenchmark {
+
+    @Param({"300"})
+    public int routes;
+
+    private RouteTrie<Integer> trie;
+    private Map<String, Integer> map;
+    private String[] endpoints;
+
+    @Setup
+    public void setUp() {
+        RouteTrie.Builder<Integer> builder = RouteTrie.builder();
+        map = new HashMap<>();
+        for (int i = 0; i < routes; i++) {
+            String path = "/module" + (i % 20) + "/action" + i;
+            builder.exact(path, i);
+            map.put(path.substring(1), i);
+        }
+        builder.prefix("/remote", -1);
+        map.put("remote", -1);
+        trie = builder.build();
+
+        endpoints = new String[] {
+                "/module3/action3",
+                "module7/action127/",
+                "/module19/action" + (routes - 1),
+                "/remote/wallet/balance",
+                "/module4/action9999",
+                "/unknown",
+        };
+    }
+
+    @Benchmark
+    public void trieLookup(Blackhole blackhole) {
+        for (String endpoint : endpoints) {
+            blackhole.consume(trie.lookup(endpoint));
+        }
+    }
+
+    @Benchmark
+    public void normalizeAndHash(Blackhole blackhole) {
+        for (String endpoint : endpoints) {
+            blackhole.consume(map.get(normalize(endpoint)));
+        }
+    }
+
+    private static String normalize(String endpoint) {
+        int start = endpoint.startsWith("/") ? 1 : 0;
+        int end = endpoint.endsWith("/") ? endpoint.length() - 1 : endpoint.length();
+        return endpoint.substring(start, end);
+    }
+}
@@ -0,0 +1,169 @@
+package com.ghosttech.blackout.assets;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * AssetCache keeps decoded UI assets in memory, least recently used
+ * first out, bounded by total bytes.
+ *
+ * On a miss the asset is read from the Source, preferring the variant
+ * gzipped at build time, "path.gz", over "path" itself. A gzipped
+ * variant is decoded once, while the cache is filled; a hit costs a
+ * map lookup, with no I/O and no decoding.
+ *
+ * An asset larger than the whole budget is returned but not cached.
+ * Cached arrays are shared; callers must not modify them.
+ *
+ * Safe to use from any thread. Two threads missing the same asset at
+ * once may both load it; the second result replaces the first.
+ */
+public class AssetCache {
+
+    /**
+     * Opens raw asset files, e.g. AssetManager::open.
+     */
+    public interface Source {
+        /**
+         * @throws FileNotFoundException if there is no such asset.
+         */
+        InputStream open(String path) throws IOException;
+    }
+
+    private final Source source;
+    private final long maxBytes;
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private long bytes;
+
+    /**
+     * @param source   Where assets are read from on a miss.
+     * @param maxBytes Budget for cached bytes, decoded.
+     */
+    public AssetCache(Source source, long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Invalid cache budget");
+        }
+        this.source = source;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the decoded asset, loading it on a miss.
+     *
+     * @return The asset's bytes, or null if it does not exist. Shared;
+     *         must not be modified.
+     */
+    public byte[] get(String path) throws IOException {
+        synchronized (this) {
+            byte[] cached = entries.get(path);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+        misses.incrementAndGet();
+
+        byte[] loaded = load(path);
+        if (loaded != null) {
+            put(path, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Loads an asset into the cache ahead of use. Missing assets are skipped.
+     *
+     * @return Whether the asset exists.
+     */
+    public boolean preload(String path) throws IOException {
+        synchronized (this) {
+            if (entries.containsKey(path)) {
+                return true;
+            }
+        }
+        byte[] loaded = load(path);
+        if (loaded == null) {
+            return false;
+        }
+        put(path, loaded);
+        return true;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the bytes currently cached, decoded.
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Drops every cached asset, e.g. on memory pressure.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    private synchronized void put(String path, byte[] asset) {
+        if (asset.length > maxBytes) {
+            return;
+        }
+        byte[] previous = entries.put(path, asset);
+        if (previous != null) {
+            bytes -= previous.length;
+        }
+        bytes += asset.length;
+
+        Iterator<Map.Entry<String, byte[]>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes) {
+            bytes -= eldest.next().getValue().length;
+            eldest.remove();
+        }
+    }
+
+    private byte[] load(String path) throws IOException {
+        InputStream in = openOrNull(path + ".gz");
+        if (in != null) {
+            return readFully(new GZIPInputStream(in));
+        }
+        in = openOrNull(path);
+        return in != null ? readFully(in) : null;
+    }
+
+    private InputStream openOrNull(String path) throws IOException {
+        try {
+            return source.open(path);
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        try (InputStream stream = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.ghosttech.blackout.router;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * RouteTrie maps endpoint paths to targets. It is built once and then
+ * compiled into flat arrays, so lookup walks primitive arrays and
+ * allocates nothing.
+ *
+ * Matching:
+ *  - Leading and trailing '/' and anything from '?' on are ignored, so
+ *    "/wallet/balance/", "wallet/balance" and "/wallet/balance?x=1" are
+ *    the same path. No normalized copy of the path is made.
+ *  - An exact route matches only its own path.
+ *  - A prefix route matches its path and everything below it, on '/'
+ *    boundaries: prefix "/api" matches "/api" and "/api/x", not "/apix".
+ *  - Exact beats prefix; a longer prefix beats a shorter one.
+ *
+ * Instances are immutable and safe to share across threads.
+ */
+public final class RouteTrie<T> {
+
+    // Node n's children are childLabel/childNode[childStart[n] .. childStart[n + 1]),
+    // sorted by label. Node 0 is the root (empty path).
+    private final int[] childStart;
+    private final char[] childLabel;
+    private final int[] childNode;
+    private final Object[] exactTarget;
+    private final Object[] prefixTarget;
+    private final int routeCount;
+
+    private RouteTrie(int[] childStart, char[] childLabel, int[] childNode,
+                      Object[] exactTarget, Object[] prefixTarget, int routeCount) {
+        this.childStart = childStart;
+        this.childLabel = childLabel;
+        this.childNode = childNode;
+        this.exactTarget = exactTarget;
+        this.prefixTarget = prefixTarget;
+        this.routeCount = routeCount;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Returns the target for a path, or null if no route matches.
+     */
+    @SuppressWarnings("unchecked")
+    public T lookup(CharSequence path) {
+        int end = path.length();
+        for (int i = 0; i < end; i++) {
+            if (path.charAt(i) == '?') {
+                end = i;
+                break;
+            }
+        }
+        while (end > 0 && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        int i = 0;
+        while (i < end && path.charAt(i) == '/') {
+            i++;
+        }
+
+        int node = 0;
+        Object prefixHit = prefixTarget[0];
+        for (; i < end; i++) {
+            node = child(node, path.charAt(i));
+            if (node < 0) {
+                return (T) prefixHit;
+            }
+            if (prefixTarget[node] != null && (i + 1 == end || path.charAt(i + 1) == '/')) {
+                prefixHit = prefixTarget[node];
+            }
+        }
+        return (T) (exactTarget[node] != null ? exactTarget[node] : prefixHit);
+    }
+
+    /**
+     * Returns the number of routes in the table.
+     */
+    public int size() {
+        return routeCount;
+    }
+
+    private int child(int node, char label) {
+        int low = childStart[node];
+        int high = childStart[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char found = childLabel[mid];
+            if (found < label) {
+                low = mid + 1;
+            } else if (found > label) {
+                high = mid - 1;
+            } else {
+                return childNode[mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Collects routes, then compiles them with build().
+     */
+    public static final class Builder<T> {
+
+        private final BuildNode root = new BuildNode();
+        private int routeCount;
+
+        /**
+         * Adds a route that matches exactly this path.
+         */
+        public Builder<T> exact(String path, T target) {
+            BuildNode node = insert(path);
+            if (node.exact != null) {
+                throw new IllegalArgumentException("Duplicate route: " + path);
+            }
+            node.exact = requireTarget(target);
+            routeCount++;
+            return this;
+        }
+
+        /**
+         * Adds a route that matches this path and every path below it.
+         */
+        public Builder<T> prefix(String path, T target) {
+            BuildNode node = insert(path);
+            if (node.prefix != null) {
+                throw new IllegalArgumentException("Duplicate prefix route: " + path);
+            }
+            node.prefix = requireTarget(target);
+            routeCount++;
+            return this;
+        }
+
+        /**
+         * Compiles the routes into an immutable table.
+         */
+        public RouteTrie<T> build() {
+            // Breadth-first numbering keeps each node's children contiguous.
+            List<BuildNode> order = new ArrayList<>();
+            order.add(root);
+            for (int n = 0; n < order.size(); n++) {
+                order.get(n).index = n;
+                order.addAll(order.get(n).children.values());
+            }
+
+            int nodes = order.size();
+            int[] childStart = new int[nodes + 1];
+            char[] childLabel = new char[nodes - 1];
+            int[] childNode = new int[nodes - 1];
+            Object[] exactTarget = new Object[nodes];
+            Object[] prefixTarget = new Object[nodes];
+            int edge = 0;
+            for (BuildNode node : order) {
+                childStart[node.index] = edge;
+                for (Map.Entry<Character, BuildNode> child : node.children.entrySet()) {
+                    childLabel[edge] = child.getKey();
+                    childNode[edge] = child.getValue().index;
+                    edge++;
+                }
+                exactTarget[node.index] = node.exact;
+                prefixTarget[node.index] = node.prefix;
+            }
+            childStart[nodes] = edge;
+            return new RouteTrie<>(childStart, childLabel, childNode,
+                    exactTarget, prefixTarget, routeCount);
+        }
+
+        private BuildNode insert(String path) {
+            int start = 0;
+            int end = path.length();
+            while (start < end && path.charAt(start) == '/') {
+                start++;
+            }
+            while (end > start && path.charAt(end - 1) == '/') {
+                end--;
+            }
+            BuildNode node = root;
+            for (int i = start; i < end; i++) {
+                char c = path.charAt(i);
+                if (c == '?') {
+                    throw new IllegalArgumentException("Route may not contain a query: " + path);
+                }
+                node = node.children.computeIfAbsent(c, key -> new BuildNode());
+            }
+            return node;
+        }
+
+        private static Object requireTarget(Object target) {
+            if (target == null) {
+                throw new IllegalArgumentException("Route target required");
+            }
+            return target;
+        }
+    }
+
+    private static final class BuildNode {
+        final TreeMap<Character, BuildNode> children = new TreeMap<>();
+        Object exact;
+        Object prefix;
+        int index;
+    }
+}
@@ -0,0 +1,108 @@
+package com.ghosttech.blackout.assets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import org.junit.Test;
+
+public class AssetCacheTest {
+
+    private final Map<String, byte[]> files = new HashMap<>();
+    private int opens;
+
+    private final AssetCache.Source source = path -> {
+        byte[] content = files.get(path);
+        if (content == null) {
+            throw new FileNotFoundException(path);
+        }
+        opens++;
+        return new ByteArrayInputStream(content);
+    };
+
+    @Test
+    public void gzipVariantIsDecodedOnce() throws Exception {
+        byte[] html = "<html><body>panel</body></html>".getBytes(StandardCharsets.UTF_8);
+        files.put("index.html.gz", gzip(html));
+        AssetCache cache = new AssetCache(source, 1024);
+
+        byte[] first = cache.get("index.html");
+        byte[] second = cache.get("index.html");
+
+        assertArrayEquals(html, first);
+        assertSame(first, second);
+        assertEquals(html.length, cache.getBytes());
+        assertEquals(1, opens);
+    }
+
+    @Test
+    public void plainAssetIsServedAsStored() throws Exception {
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G'};
+        files.put("logo.png", png);
+        AssetCache cache = new AssetCache(source, 1024);
+
+        assertArrayEquals(png, cache.get("logo.png"));
+    }
+
+    @Test
+    public void hitIsServedWithoutIo() throws Exception {
+        files.put("app.js", "let x;".getBytes(StandardCharsets.UTF_8));
+        AssetCache cache = new AssetCache(source, 1024);
+
+        byte[] first = cache.get("app.js");
+        byte[] second = cache.get("app.js");
+
+        assertSame(first, second);
+        assertEquals(1, opens);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void missingAssetIsNull() throws Exception {
+        AssetCache cache = new AssetCache(source, 1024);
+
+        assertNull(cache.get("nope.css"));
+        assertFalse(cache.preload("nope.css"));
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvictedPastBudget() throws Exception {
+        files.put("a", new byte[40]);
+        files.put("b", new byte[40]);
+        files.put("c", new byte[40]);
+        AssetCache cache = new AssetCache(source, 100);
+
+        assertTrue(cache.preload("a"));
+        assertTrue(cache.preload("b"));
+        cache.get("a");
+        assertTrue(cache.preload("c"));
+
+        assertEquals(80, cache.getBytes());
+        opens = 0;
+        cache.get("a");
+        cache.get("c");
+        assertEquals(0, opens);
+        cache.get("b");
+        assertEquals(1, opens);
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        }
+        return out.toByteArray();
+    }
+}
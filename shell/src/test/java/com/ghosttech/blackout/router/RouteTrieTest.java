@@ -0,0 +1,54 @@
+package com.ghosttech.blackout.router;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class RouteTrieTest {
+
+    @Test
+    public void slashesAndQueryAreIgnored() {
+        RouteTrie<String> trie = RouteTrie.<String>builder()
+                .exact("/wallet/balance", "balance")
+                .build();
+
+        assertEquals("balance", trie.lookup("/wallet/balance"));
+        assertEquals("balance", trie.lookup("wallet/balance/"));
+        assertEquals("balance", trie.lookup("/wallet/balance?x=1"));
+        assertNull(trie.lookup("/wallet/balances"));
+        assertNull(trie.lookup("/wallet"));
+    }
+
+    @Test
+    public void prefixMatchesOnSegmentBoundaries() {
+        RouteTrie<String> trie = RouteTrie.<String>builder()
+                .prefix("/api", "api")
+                .build();
+
+        assertEquals("api", trie.lookup("/api"));
+        assertEquals("api", trie.lookup("/api/x/y"));
+        assertNull(trie.lookup("/apix"));
+    }
+
+    @Test
+    public void exactBeatsPrefixAndLongerPrefixWins() {
+        RouteTrie<String> trie = RouteTrie.<String>builder()
+                .prefix("/explorer", "explorer")
+                .prefix("/explorer/blocks", "blocks")
+                .exact("/explorer/blocks/latest", "latest")
+                .build();
+
+        assertEquals("latest", trie.lookup("/explorer/blocks/latest"));
+        assertEquals("blocks", trie.lookup("/explorer/blocks/42"));
+        assertEquals("explorer", trie.lookup("/explorer/tx"));
+        assertEquals(3, trie.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicateRouteIsRejected() {
+        RouteTrie.<String>builder()
+                .exact("/command", "a")
+                .exact("command/", "b");
+    }
+}